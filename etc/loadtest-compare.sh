@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compara throughput e latência entre threads de plataforma e virtual threads.
+# Requer Java 21+ e o Postgres de etc/docker-compose-loadtest.yml no ar.
+# Uso: etc/loadtest-compare.sh [args extras do teste de carga, ex.: -Dloadtest.concurrency=512]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+./mvnw -B -q -Pjava21 -DskipTests package
+JAR=$(ls target/know-recipes-be-*.jar | grep -v plain | head -n 1)
+
+run_mode() {
+  local label=$1 profiles=$2
+  echo "===== $label ($profiles) ====="
+  SPRING_PROFILES_ACTIVE=$profiles java -jar "$JAR" > "target/app-$label.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' EXIT
+
+  until curl -sf -o /dev/null "http://localhost:8080/api/recipes/public/feed"; do
+    kill -0 $pid 2>/dev/null || { echo "Aplicação não subiu, ver target/app-$label.log"; exit 1; }
+    sleep 1
+  done
+
+  ./mvnw -B -q -Ploadtest test-compile exec:java \
+    -Dloadtest.label="$label" -Dloadtest.report="target/loadtest-$label.json" "${@:3}"
+
+  kill $pid
+  wait $pid 2>/dev/null || true
+  trap - EXIT
+}
+
+# Mesma base para os dois modos: a semeadura da primeira execução é reaproveitada na segunda
+run_mode platform loadtest "$@"
+run_mode virtual loadtest,virtual "$@"
+
+./mvnw -B -q -Ploadtest exec:java -Dloadtest.compare=target/loadtest-platform.json,target/loadtest-virtual.json
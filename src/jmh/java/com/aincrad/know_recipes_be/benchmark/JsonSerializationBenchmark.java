@@ -0,0 +1,82 @@
+package com.aincrad.know_recipes_be.benchmark;
+
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Serialização Jackson dos payloads mais comuns: uma receita, o feed (10) e uma página (20).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private JsonMapper jsonMapper;
+    private RecipeResponse recipe;
+    private List<RecipeResponse> feed;
+    private Page<RecipeResponse> page;
+
+    @Setup
+    public void setup() {
+        jsonMapper = JsonMapper.builder().build();
+        recipe = newRecipe(1);
+        feed = IntStream.range(0, 10).mapToObj(JsonSerializationBenchmark::newRecipe).toList();
+        page = new PageImpl<>(
+            IntStream.range(0, 20).mapToObj(JsonSerializationBenchmark::newRecipe).toList(),
+            PageRequest.of(3, 20),
+            10_000
+        );
+    }
+
+    @Benchmark
+    public byte[] recipe() {
+        return jsonMapper.writeValueAsBytes(recipe);
+    }
+
+    @Benchmark
+    public byte[] feed() {
+        return jsonMapper.writeValueAsBytes(feed);
+    }
+
+    @Benchmark
+    public byte[] page() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    private static RecipeResponse newRecipe(int index) {
+        return RecipeResponse.builder()
+            .id((long) index)
+            .uniqueId(UUID.randomUUID().toString())
+            .title("Receita " + index + ": frango assado com batatas")
+            .description("Tempere o frango com alho, sal e limão e leve ao forno. ".repeat(8))
+            .imageUrl("https://images.example.com/receita-" + index + ".jpg")
+            .isPrivate(false)
+            .createdAt(LocalDateTime.now())
+            .updatedAt(LocalDateTime.now())
+            .authorUsername("chef" + index)
+            .authorId((long) index)
+            .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.aincrad.know_recipes_be.benchmark;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição da verificação do JWT no JwtAuthenticationFilter.
+ * <ul>
+ *   <li>legacyPerRequest: fluxo antigo (chave e parser recriados, token parseado 3 vezes)</li>
+ *   <li>singlePass: parser pré-montado, uma única verificação</li>
+ *   <li>cachedVerify: JwtService.verify com o cache de tokens verificados</li>
+ *   <li>generateToken: emissão do token no login/cadastro</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String token;
+    private AuthenticatedUser user;
+
+    @Setup
+    public void setup() {
+        jwtService = newJwtService();
+        user = new AuthenticatedUser(7L, "bench@knowrecipes.com", "bench", null);
+        token = jwtService.generateToken(user);
+        parser = Jwts.parserBuilder().setSigningKey(legacySigningKey()).build();
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        // extractUsername + isTokenValid(extractUsername + isTokenExpired)
+        String username = legacyParse(token).getSubject();
+        boolean sameUser = legacyParse(token).getSubject().equals(username);
+        boolean expired = legacyParse(token).getExpiration().before(new Date());
+        return sameUser && !expired;
+    }
+
+    @Benchmark
+    public Claims singlePass() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims cachedVerify() {
+        return jwtService.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    static JwtService newJwtService() {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", SECRET);
+        ReflectionTestUtils.setField(service, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(service, "verifiedCacheMaxSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(service, "init");
+        return service;
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+            .setSigningKey(legacySigningKey())
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    }
+
+    private static Key legacySigningKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
@@ -0,0 +1,62 @@
+package com.aincrad.know_recipes_be.benchmark;
+
+import com.aincrad.know_recipes_be.config.PasswordHashingProperties;
+import com.aincrad.know_recipes_be.config.SecurityConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de CPU do PasswordEncoder configurado em SecurityConfig (login e cadastro),
+ * por custo do BCrypt. Inclui a passagem pelo pool de hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private PasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setup() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setStrength(strength);
+        passwordEncoder = new SecurityConfig(null, null, null).passwordEncoder(new SimpleMeterRegistry(), properties);
+        encodedPassword = passwordEncoder.encode("password123");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        ((AutoCloseable) passwordEncoder).close();
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode("password123");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches("password123", encodedPassword);
+    }
+}
@@ -0,0 +1,67 @@
+package com.aincrad.know_recipes_be.benchmark;
+
+import com.aincrad.know_recipes_be.config.ClientRateLimiter;
+import com.aincrad.know_recipes_be.config.RateLimitGroup;
+import com.aincrad.know_recipes_be.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição do ClientRateLimiter (o RateLimitFilter soma a isso só a
+ * leitura do cabeçalho, já que a verificação do JWT fica em cache).
+ * <ul>
+ *   <li>hotClient: todas as threads no mesmo bucket (pior caso de disputa no CAS)</li>
+ *   <li>manyClients: 10 mil IPs distintos, como tráfego anônimo espalhado</li>
+ * </ul>
+ * A 20k req/s o orçamento por requisição é de 50µs; o limitador deve ficar na casa das centenas de ns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private ClientRateLimiter rateLimiter;
+    private String[] clients;
+
+    @Setup
+    public void setup() {
+        RateLimitProperties properties = new RateLimitProperties();
+        // Orçamento alto: mede o caminho liberado, que é o de quase toda requisição
+        properties.getGroups().put(RateLimitGroup.READ, new RateLimitProperties.Budget(1_000_000, 1_000_000));
+        rateLimiter = new ClientRateLimiter(properties, new SimpleMeterRegistry());
+
+        clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public long hotClient() {
+        return rateLimiter.tryAcquire(RateLimitGroup.READ, "user:1");
+    }
+
+    @Benchmark
+    public long manyClients() {
+        return rateLimiter.tryAcquire(RateLimitGroup.READ, clients[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+}
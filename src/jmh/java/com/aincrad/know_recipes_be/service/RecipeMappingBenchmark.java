@@ -0,0 +1,61 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de RecipeService.mapToResponse (entidade com autor já carregado -> DTO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeMappingBenchmark {
+
+    private RecipeService recipeService;
+    private Recipe recipe;
+
+    @Setup
+    public void setup() {
+        // mapToResponse só usa os colaboradores quando o autor é um proxy não inicializado
+        recipeService = new RecipeService(null, null, null, null, null, null, null, null);
+
+        User author = new User();
+        author.setId(7L);
+        author.setUsername("chef");
+        author.setEmail("chef@knowrecipes.com");
+
+        recipe = new Recipe();
+        recipe.setId(42L);
+        recipe.setUniqueId(UUID.randomUUID().toString());
+        recipe.setTitle("Bolo de cenoura com cobertura de chocolate");
+        recipe.setDescription("Bata no liquidificador as cenouras, os ovos e o óleo. ".repeat(10));
+        recipe.setImageUrl("https://images.example.com/bolo-de-cenoura.jpg");
+        recipe.setIsPrivate(false);
+        recipe.setCreatedAt(LocalDateTime.now());
+        recipe.setUpdatedAt(LocalDateTime.now());
+        recipe.setUser(author);
+    }
+
+    @Benchmark
+    public RecipeResponse mapToResponse() {
+        return recipeService.mapToResponse(recipe);
+    }
+}
@@ -0,0 +1,133 @@
+package com.aincrad.know_recipes_be.service.typeahead;
+
+import com.aincrad.know_recipes_be.dto.TitleSuggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete sobre o TitlePrefixIndex com títulos sintéticos (10 sugestões por chamada).
+ * <ul>
+ *   <li>singleLetter: prefixo de uma letra, o pior caso de títulos repetidos no intervalo</li>
+ *   <li>twoWords: prefixo típico depois de algumas teclas</li>
+ *   <li>withDelta: o mesmo, com 50 mil alterações ainda fora da base</li>
+ *   <li>miss: prefixo sem resultados</li>
+ * </ul>
+ * No setup imprime o relatório de memória: heap ocupado pela base compactada
+ * contra um ConcurrentSkipListMap(chave, título) com os mesmos títulos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class TypeaheadBenchmark {
+
+    private static final String[] DISHES = {
+        "Bolo", "Torta", "Pão", "Pudim", "Frango", "Risoto", "Sopa", "Salada", "Mousse", "Brigadeiro",
+        "Escondidinho", "Lasanha", "Farofa", "Moqueca", "Feijoada", "Panqueca", "Quiche", "Cuscuz", "Strogonoff", "Empadão"
+    };
+    private static final String[] INGREDIENTS = {
+        "cenoura", "chocolate", "fubá", "milho", "banana", "maçã", "limão", "maracujá", "queijo", "frango",
+        "camarão", "abóbora", "mandioca", "coco", "goiabada", "palmito", "espinafre", "brócolis", "atum", "carne seca"
+    };
+    private static final String[] STYLES = {
+        "", " da vovó", " caseiro", " fácil", " sem glúten", " vegano", " de liquidificador", " fit", " cremoso", " na airfryer"
+    };
+
+    @Param("1000000")
+    private int titles;
+
+    private TitlePrefixIndex index;
+    private TitlePrefixIndex indexWithDelta;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        long before = usedHeap();
+        index = new TitlePrefixIndex();
+        index.rebuild(() -> segment(titles));
+        long packed = usedHeap() - before;
+
+        before = usedHeap();
+        ConcurrentSkipListMap<String, String> skipList = new ConcurrentSkipListMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < titles; i++) {
+            String title = title(random, i);
+            skipList.put(new String(TitleKeys.of(title, false), StandardCharsets.UTF_8) + '\u0000' + i, title);
+        }
+        long naive = usedHeap() - before;
+
+        System.out.printf("%nÍndice de títulos, %,d títulos:%n", titles);
+        System.out.printf("  base compactada:      %,d MB (%d B/título; estimativa do índice %,d MB)%n",
+            packed >> 20, packed / titles, index.baseBytes() >> 20);
+        System.out.printf("  ConcurrentSkipListMap: %,d MB (%d B/título)%n", naive >> 20, naive / titles);
+        skipList.clear();
+
+        indexWithDelta = new TitlePrefixIndex();
+        indexWithDelta.rebuild(() -> segment(titles));
+        Random changes = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            indexWithDelta.put(changes.nextInt(titles), title(changes, i));
+        }
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> singleLetter() {
+        return index.suggest("b", 10);
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> twoWords() {
+        return index.suggest("bolo de ch", 10);
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> withDelta() {
+        return indexWithDelta.suggest("bolo de ch", 10);
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> miss() {
+        return index.suggest("xylo", 10);
+    }
+
+    private static TitlePrefixIndex.Segment segment(int size) {
+        TitlePrefixIndex.Builder builder = new TitlePrefixIndex.Builder();
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            builder.add(i, title(random, i));
+        }
+        return builder.build();
+    }
+
+    // Títulos repetem a combinação prato/ingrediente/estilo; o sufixo numérico dá variedade
+    private static String title(Random random, int sequence) {
+        String title = DISHES[random.nextInt(DISHES.length)] + " de " + INGREDIENTS[random.nextInt(INGREDIENTS.length)]
+            + STYLES[random.nextInt(STYLES.length)];
+        return random.nextInt(4) == 0 ? title : title + " " + (sequence % 997);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,101 @@
+package com.aincrad.know_recipes_be.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP mínimo da API, compartilhado por todos os workers (HttpClient é thread-safe).
+ */
+final class ApiClient {
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    }
+
+    Response get(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).GET().build());
+    }
+
+    Response delete(String path, String token) throws IOException, InterruptedException {
+        return send(request(path, token).DELETE().build());
+    }
+
+    Response postJson(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+            .build());
+    }
+
+    Response putJson(String path, String token, Object body) throws IOException, InterruptedException {
+        return send(request(path, token)
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(jsonMapper.writeValueAsBytes(body)))
+            .build());
+    }
+
+    Response postNdjson(String path, String token, String body) throws IOException, InterruptedException {
+        return send(request(path, token)
+            .header("Content-Type", "application/x-ndjson")
+            .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+            .build());
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    final class Response {
+
+        private final int status;
+        private final byte[] body;
+
+        private Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        int status() {
+            return status;
+        }
+
+        boolean isSuccess() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            return jsonMapper.readTree(body);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.aincrad.know_recipes_be.loadtest;
+
+/**
+ * Endpoints exercitados e seu peso no mix de tráfego (soma = 100).
+ * O mix reflete o uso real: leitura domina, escrita é minoria. Cadastro e login
+ * entram no mix porque passam pelo hash de senha, o caminho mais caro em CPU.
+ */
+enum Endpoint {
+
+    FEED("GET /api/recipes/public/feed", 23),
+    PUBLIC_PAGE("GET /api/recipes/public?page", 10),
+    PUBLIC_CURSOR("GET /api/recipes/public?cursor", 10),
+    SEARCH("GET /api/recipes/search/public", 13),
+    BY_UNIQUE_ID("GET /api/recipes/public/unique/{uniqueId}", 11),
+    BY_ID("GET /api/recipes/public/{id}", 5),
+    MY_RECIPES("GET /api/recipes/my", 6),
+    MY_STATS("GET /api/recipes/my/stats", 2),
+    MY_SEARCH("GET /api/recipes/search/my", 3),
+    CREATE("POST /api/recipes", 6),
+    UPDATE("PUT /api/recipes/{id}", 4),
+    DELETE("DELETE /api/recipes/{id}", 2),
+    LOGIN("POST /api/auth/login", 3),
+    REGISTER("POST /api/auth/register", 2);
+
+    private final String label;
+    private final int weight;
+
+    Endpoint(String label, int weight) {
+        this.label = label;
+        this.weight = weight;
+    }
+
+    String label() {
+        return label;
+    }
+
+    int weight() {
+        return weight;
+    }
+}
@@ -0,0 +1,61 @@
+package com.aincrad.know_recipes_be.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Amostras de latência (em microssegundos) de um endpoint em um worker.
+ * Não é thread-safe: cada worker tem os seus e eles são unidos no fim.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long latencyMicros, boolean success) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyMicros;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.samples[i], true);
+        }
+        errors += other.errors;
+    }
+
+    void reset() {
+        count = 0;
+        errors = 0;
+    }
+
+    Summary summarize(double elapsedSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(
+            count,
+            errors,
+            count / elapsedSeconds,
+            percentile(sorted, 0.50),
+            percentile(sorted, 0.95),
+            percentile(sorted, 0.99),
+            count == 0 ? 0 : sorted[count - 1]
+        );
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+
+    record Summary(int requests, int errors, double throughput, long p50, long p95, long p99, long max) {
+    }
+}
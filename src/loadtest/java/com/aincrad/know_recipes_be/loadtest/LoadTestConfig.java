@@ -0,0 +1,33 @@
+package com.aincrad.know_recipes_be.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Parâmetros do teste de carga, lidos de system properties (-Dloadtest.*).
+ */
+record LoadTestConfig(
+    String baseUrl,
+    int users,
+    int recipes,
+    int concurrency,
+    Duration warmup,
+    Duration duration,
+    String reportFile,
+    long seed,
+    String label
+) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+            System.getProperty("loadtest.base-url", "http://localhost:8080"),
+            Integer.getInteger("loadtest.users", 50),
+            Integer.getInteger("loadtest.recipes", 20_000),
+            Integer.getInteger("loadtest.concurrency", 64),
+            Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 15)),
+            Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+            System.getProperty("loadtest.report", "target/loadtest-report.json"),
+            Long.getLong("loadtest.seed", 42L),
+            System.getProperty("loadtest.label", "default")
+        );
+    }
+}
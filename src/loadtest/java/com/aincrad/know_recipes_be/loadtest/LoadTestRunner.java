@@ -0,0 +1,360 @@
+package com.aincrad.know_recipes_be.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga ponta a ponta da API.
+ * <ol>
+ *   <li>Semeia N usuários (cadastro/login) e M receitas (importação NDJSON em lote)</li>
+ *   <li>Dispara tráfego misto autenticado (ver {@link Endpoint}) com C workers concorrentes</li>
+ *   <li>Reporta p50/p95/p99 e throughput por endpoint, no console e em JSON</li>
+ * </ol>
+ * Uso: ./mvnw -Ploadtest test-compile exec:java -Dloadtest.users=50 -Dloadtest.recipes=20000
+ * <p>
+ * Com -Dloadtest.compare=a.json,b.json apenas compara relatórios já gerados (ver {@link ReportComparison}).
+ */
+public final class LoadTestRunner {
+
+    private static final String PASSWORD = "loadtest123";
+    private static final int IMPORT_CHUNK = 5_000;
+    private static final String[] DISHES = {
+        "Bolo", "Frango", "Arroz", "Feijoada", "Torta", "Pudim", "Lasanha", "Moqueca", "Salada", "Sopa",
+        "Pão", "Risoto", "Escondidinho", "Strogonoff", "Brigadeiro", "Quiche", "Farofa", "Panqueca"
+    };
+    private static final String[] STYLES = {
+        "de cenoura", "assado", "de forno", "cremoso", "da vovó", "com legumes", "caseiro", "de panela",
+        "com queijo", "de chocolate", "light", "apimentado", "de limão", "à mineira", "baiana"
+    };
+
+    private final LoadTestConfig config;
+    private final ApiClient api;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    // Cadastros do mix precisam de username/email inéditos a cada execução
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final List<SeedUser> users = new ArrayList<>();
+    private final List<SeedRecipe> recipes = new ArrayList<>();
+    private volatile boolean measuring;
+    private volatile boolean running = true;
+
+    private LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.api = new ApiClient(config.baseUrl());
+    }
+
+    public static void main(String[] args) throws Exception {
+        String compare = System.getProperty("loadtest.compare");
+        if (compare != null) {
+            new ReportComparison(compare.split(",")).print();
+            return;
+        }
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        new LoadTestRunner(config).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("[%s] Semeando %d usuários e %d receitas em %s%n", config.label(), config.users(), config.recipes(), config.baseUrl());
+        seedUsers();
+        seedRecipes();
+        collectRecipes();
+        System.out.printf("Massa pronta: %d usuários, %d receitas públicas conhecidas%n", users.size(), recipes.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(config.concurrency());
+        List<Future<Map<Endpoint, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            workers.add(executor.submit(new Worker(i)));
+        }
+
+        System.out.printf("Aquecimento por %ds com %d workers...%n", config.warmup().toSeconds(), config.concurrency());
+        Thread.sleep(config.warmup().toMillis());
+        measuring = true;
+        long measureStart = System.nanoTime();
+        System.out.printf("Medindo por %ds...%n", config.duration().toSeconds());
+        Thread.sleep(config.duration().toMillis());
+        running = false;
+        double elapsedSeconds = (System.nanoTime() - measureStart) / 1_000_000_000.0;
+
+        Map<Endpoint, LatencyRecorder> merged = new EnumMap<>(Endpoint.class);
+        for (Future<Map<Endpoint, LatencyRecorder>> worker : workers) {
+            worker.get().forEach((endpoint, recorder) ->
+                merged.computeIfAbsent(endpoint, e -> new LatencyRecorder()).merge(recorder));
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+
+        report(merged, elapsedSeconds);
+    }
+
+    // ===== MASSA DE DADOS =====
+
+    private void seedUsers() throws Exception {
+        for (int i = 0; i < config.users(); i++) {
+            String username = "loadtest" + config.seed() + "u" + i;
+            String email = username + "@loadtest.local";
+
+            ApiClient.Response response = api.postJson("/api/auth/register", null,
+                Map.of("username", username, "email", email, "password", PASSWORD));
+            if (!response.isSuccess()) {
+                // Já existe de uma execução anterior
+                response = api.postJson("/api/auth/login", null, Map.of("email", email, "password", PASSWORD));
+            }
+            if (!response.isSuccess()) {
+                throw new IllegalStateException("Não foi possível autenticar " + email + ": HTTP " + response.status());
+            }
+            JsonNode auth = response.json();
+            users.add(new SeedUser(email, auth.get("token").asString()));
+        }
+    }
+
+    private void seedRecipes() throws Exception {
+        ApiClient.Response page = api.get("/api/recipes/public?page=0&size=1", null);
+        long existing = page.isSuccess() ? page.json().path("totalElements").asLong(0) : 0;
+        long missing = config.recipes() - existing;
+        Random random = new Random(config.seed());
+
+        int userIndex = 0;
+        while (missing > 0) {
+            int chunk = (int) Math.min(IMPORT_CHUNK, missing);
+            StringBuilder ndjson = new StringBuilder(chunk * 200);
+            for (int i = 0; i < chunk; i++) {
+                Map<String, Object> recipe = new LinkedHashMap<>();
+                recipe.put("title", randomTitle(random));
+                recipe.put("description", "Receita gerada para teste de carga. " + randomTitle(random).repeat(5));
+                recipe.put("isPrivate", random.nextInt(10) == 0);
+                ndjson.append(jsonMapper.writeValueAsString(recipe)).append('\n');
+            }
+
+            SeedUser owner = users.get(userIndex++ % users.size());
+            ApiClient.Response response = api.postNdjson("/api/recipes/bulk", owner.token(), ndjson.toString());
+            if (!response.isSuccess()) {
+                throw new IllegalStateException("Falha na importação: HTTP " + response.status());
+            }
+            missing -= chunk;
+        }
+    }
+
+    private void collectRecipes() throws Exception {
+        String cursor = "";
+        while (recipes.size() < config.recipes()) {
+            ApiClient.Response response = api.get("/api/recipes/public?size=100&cursor=" + ApiClient.encode(cursor), null);
+            JsonNode body = response.json();
+            for (JsonNode item : body.path("items")) {
+                recipes.add(new SeedRecipe(item.get("id").asLong(), item.get("uniqueId").asString()));
+            }
+            if (!body.path("hasNext").asBoolean(false)) {
+                break;
+            }
+            cursor = body.path("nextCursor").asString();
+        }
+        if (recipes.isEmpty()) {
+            throw new IllegalStateException("Nenhuma receita pública encontrada após a semeadura");
+        }
+    }
+
+    private static String randomTitle(Random random) {
+        return DISHES[random.nextInt(DISHES.length)] + " " + STYLES[random.nextInt(STYLES.length)];
+    }
+
+    // ===== RELATÓRIO =====
+
+    private void report(Map<Endpoint, LatencyRecorder> results, double elapsedSeconds) throws Exception {
+        LatencyRecorder total = new LatencyRecorder();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        System.out.println();
+        System.out.printf("%-46s %9s %7s %10s %9s %9s %9s %9s%n",
+            "endpoint", "reqs", "erros", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)");
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder recorder = results.get(endpoint);
+            if (recorder == null) {
+                continue;
+            }
+            total.merge(recorder);
+            LatencyRecorder.Summary summary = recorder.summarize(elapsedSeconds);
+            print(endpoint.label(), summary);
+            endpoints.put(endpoint.name(), summary);
+        }
+        LatencyRecorder.Summary totalSummary = total.summarize(elapsedSeconds);
+        print("TOTAL", totalSummary);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", config.label());
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", config);
+        report.put("elapsedSeconds", elapsedSeconds);
+        report.put("total", totalSummary);
+        report.put("endpoints", endpoints);
+
+        File file = new File(config.reportFile());
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        jsonMapper.writerWithDefaultPrettyPrinter().writeValue(file, report);
+        System.out.println();
+        System.out.println("Relatório salvo em " + file.getPath());
+    }
+
+    private static void print(String label, LatencyRecorder.Summary summary) {
+        System.out.printf("%-46s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+            label, summary.requests(), summary.errors(), summary.throughput(),
+            summary.p50() / 1000.0, summary.p95() / 1000.0, summary.p99() / 1000.0, summary.max() / 1000.0);
+    }
+
+    // ===== WORKERS =====
+
+    private record SeedUser(String email, String token) {
+    }
+
+    private record SeedRecipe(long id, String uniqueId) {
+    }
+
+    private final class Worker implements Callable<Map<Endpoint, LatencyRecorder>> {
+
+        private final Random random;
+        private final SeedUser user;
+        private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+        private final Deque<Long> ownRecipes = new ArrayDeque<>();
+        private final int totalWeight;
+        private final int index;
+        private int registrations;
+        private String cursor = "";
+        // Endpoint efetivamente chamado: UPDATE e DELETE sem receita própria viram CREATE
+        private Endpoint executed;
+
+        private Worker(int index) {
+            this.index = index;
+            this.random = new Random(config.seed() + index);
+            this.user = users.get(index % users.size());
+            int weight = 0;
+            for (Endpoint endpoint : Endpoint.values()) {
+                weight += endpoint.weight();
+            }
+            this.totalWeight = weight;
+        }
+
+        @Override
+        public Map<Endpoint, LatencyRecorder> call() {
+            boolean measured = false;
+            while (running) {
+                if (measuring && !measured) {
+                    // Descarta o que foi coletado no aquecimento
+                    recorders.values().forEach(LatencyRecorder::reset);
+                    measured = true;
+                }
+
+                Endpoint endpoint = pick();
+                executed = endpoint;
+                long start = System.nanoTime();
+                boolean success;
+                try {
+                    success = execute(endpoint);
+                } catch (Exception e) {
+                    success = false;
+                }
+                long latencyMicros = (System.nanoTime() - start) / 1_000;
+                recorders.computeIfAbsent(executed, e -> new LatencyRecorder()).record(latencyMicros, success);
+            }
+            return recorders;
+        }
+
+        private Endpoint pick() {
+            int roll = random.nextInt(totalWeight);
+            for (Endpoint endpoint : Endpoint.values()) {
+                roll -= endpoint.weight();
+                if (roll < 0) {
+                    return endpoint;
+                }
+            }
+            return Endpoint.FEED;
+        }
+
+        private boolean execute(Endpoint endpoint) throws Exception {
+            SeedRecipe recipe = recipes.get(random.nextInt(recipes.size()));
+            return switch (endpoint) {
+                case FEED -> api.get("/api/recipes/public/feed", null).isSuccess();
+                case PUBLIC_PAGE -> api.get("/api/recipes/public?size=20&page=" + random.nextInt(50), null).isSuccess();
+                case PUBLIC_CURSOR -> followCursor();
+                case SEARCH -> api.get("/api/recipes/search/public?q=" + ApiClient.encode(randomTitle(random)), null).isSuccess();
+                case BY_UNIQUE_ID -> api.get("/api/recipes/public/unique/" + recipe.uniqueId(), null).isSuccess();
+                case BY_ID -> api.get("/api/recipes/public/" + recipe.id(), null).isSuccess();
+                case MY_RECIPES -> api.get("/api/recipes/my?size=20", user.token()).isSuccess();
+                case MY_STATS -> api.get("/api/recipes/my/stats", user.token()).isSuccess();
+                case MY_SEARCH -> api.get("/api/recipes/search/my?q=" + ApiClient.encode(DISHES[random.nextInt(DISHES.length)]),
+                    user.token()).isSuccess();
+                case CREATE -> create();
+                case UPDATE -> update();
+                case DELETE -> delete();
+                case LOGIN -> api.postJson("/api/auth/login", null, Map.of("email", user.email(), "password", PASSWORD)).isSuccess();
+                case REGISTER -> register();
+            };
+        }
+
+        private boolean register() throws Exception {
+            String username = "lt" + config.seed() + "-" + runId + "w" + index + "r" + registrations++;
+            return api.postJson("/api/auth/register", null,
+                Map.of("username", username, "email", username + "@loadtest.local", "password", PASSWORD)).isSuccess();
+        }
+
+        private boolean followCursor() throws Exception {
+            ApiClient.Response response = api.get("/api/recipes/public?size=20&cursor=" + ApiClient.encode(cursor), null);
+            if (response.isSuccess()) {
+                JsonNode body = response.json();
+                // Avança algumas páginas e recomeça, como um scroll infinito
+                cursor = body.path("hasNext").asBoolean(false) && random.nextInt(5) > 0 ? body.path("nextCursor").asString() : "";
+            }
+            return response.isSuccess();
+        }
+
+        private boolean create() throws Exception {
+            ApiClient.Response response = api.postJson("/api/recipes", user.token(), recipeBody());
+            if (response.isSuccess()) {
+                ownRecipes.addLast(response.json().get("id").asLong());
+            }
+            return response.isSuccess();
+        }
+
+        private boolean update() throws Exception {
+            Long id = ownRecipes.peekFirst();
+            if (id == null) {
+                executed = Endpoint.CREATE;
+                return create();
+            }
+            return api.putJson("/api/recipes/" + id, user.token(), recipeBody()).isSuccess();
+        }
+
+        private boolean delete() throws Exception {
+            Long id = ownRecipes.pollFirst();
+            if (id == null) {
+                executed = Endpoint.CREATE;
+                return create();
+            }
+            return api.delete("/api/recipes/" + id, user.token()).isSuccess();
+        }
+
+        private Map<String, Object> recipeBody() {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("title", randomTitle(random));
+            body.put("description", "Criada durante o teste de carga.");
+            body.put("isPrivate", random.nextInt(4) == 0);
+            return body;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.aincrad.know_recipes_be.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compara lado a lado relatórios do LoadTestRunner (ex.: threads de plataforma x virtual threads).
+ * O primeiro relatório é a base; as variações das demais colunas são relativas a ele.
+ */
+final class ReportComparison {
+
+    private final List<JsonNode> reports = new ArrayList<>();
+
+    ReportComparison(String... files) {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        for (String file : files) {
+            reports.add(jsonMapper.readTree(new File(file.trim())));
+        }
+    }
+
+    void print() {
+        System.out.printf("%-46s", "endpoint / métrica");
+        for (JsonNode report : reports) {
+            System.out.printf(" %22s", report.path("label").asString());
+        }
+        System.out.println();
+
+        printRow("TOTAL", reports.stream().map(report -> report.path("total")).toList());
+
+        Set<String> endpoints = new LinkedHashSet<>();
+        reports.forEach(report -> report.path("endpoints").propertyNames().forEach(endpoints::add));
+        for (String endpoint : endpoints) {
+            printRow(endpoint, reports.stream().map(report -> report.path("endpoints").path(endpoint)).toList());
+        }
+    }
+
+    private static void printRow(String label, List<JsonNode> summaries) {
+        System.out.println(label);
+        printMetric("  req/s", summaries, "throughput", 1);
+        printMetric("  p50 (ms)", summaries, "p50", 1000);
+        printMetric("  p95 (ms)", summaries, "p95", 1000);
+        printMetric("  p99 (ms)", summaries, "p99", 1000);
+        printMetric("  erros", summaries, "errors", 1);
+    }
+
+    private static void printMetric(String name, List<JsonNode> summaries, String field, double divisor) {
+        System.out.printf("%-46s", name);
+        double base = summaries.get(0).path(field).asDouble(0) / divisor;
+        for (int i = 0; i < summaries.size(); i++) {
+            double value = summaries.get(i).path(field).asDouble(0) / divisor;
+            if (i == 0 || base == 0) {
+                System.out.printf(" %22.2f", value);
+            } else {
+                System.out.printf(" %13.2f (%+5.0f%%)", value, (value - base) / base * 100);
+            }
+        }
+        System.out.println();
+    }
+}
@@ -0,0 +1,87 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.repository.entity.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Principal autenticado da aplicação. Carrega id e username (TB_USERS.USERNAME)
+ * para que o usuário atual seja resolvido sem consultar o banco.
+ * Seguindo o contrato do Spring Security, getUsername() retorna o email (login).
+ */
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final Long id;
+    private final String email;
+    private final String displayName;
+    private String password;
+
+    public AuthenticatedUser(Long id, String email, String displayName, String password) {
+        this.id = id;
+        this.email = email;
+        this.displayName = displayName;
+        this.password = password;
+    }
+
+    /**
+     * Usuário autenticado na requisição atual, se houver
+     */
+    public static Optional<AuthenticatedUser> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+            && authentication.isAuthenticated()
+            && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user);
+        }
+        return Optional.empty();
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getUsername(), user.getPassword());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Username público do usuário (TB_USERS.USERNAME)
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return DEFAULT_AUTHORITIES;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
@@ -0,0 +1,118 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa encode/matches em um pool fixo e limitado. A thread da requisição só
+ * espera o resultado: uma rajada de logins ocupa no máximo as threads do pool,
+ * e com a fila cheia (ou a espera estourada) a requisição falha rápido com
+ * {@link PasswordHashingRejectedException}.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(
+        PasswordEncoder delegate,
+        PasswordHashingProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.delegate = delegate;
+        this.maxWait = properties.getMaxWait();
+        this.retryAfter = properties.getRetryAfter();
+        this.executor = new ThreadPoolExecutor(
+            properties.getThreads(),
+            properties.getThreads(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            new HashingThreadFactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.rejectedCounter = Counter.builder("recipes.auth.password.rejected").register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Só lê o custo do hash: não precisa do pool
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw reject("Fila de hash de senha cheia");
+        }
+
+        try {
+            return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw reject("Tempo de espera do hash de senha excedido");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw reject("Hash de senha interrompido");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private PasswordHashingRejectedException reject(String message) {
+        rejectedCounter.increment();
+        return new PasswordHashingRejectedException(message, retryAfter);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Um {@link TokenBucket} por (grupo de rota, cliente). Os buckets ficam em um
+ * cache limitado do Caffeine (leituras sem lock) e expiram após o tempo ocioso.
+ */
+public class ClientRateLimiter {
+
+    private final Map<RateLimitGroup, RateLimitProperties.Budget> budgets;
+    private final Cache<ClientKey, TokenBucket> buckets;
+    private final Map<RateLimitGroup, Counter> rejectedCounters = new EnumMap<>(RateLimitGroup.class);
+
+    public ClientRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.budgets = new EnumMap<>(properties.getGroups());
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxClients())
+            .expireAfterAccess(properties.getIdleTimeout())
+            .build();
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            rejectedCounters.put(group, Counter.builder("recipes.rate-limit.rejected")
+                .tag("group", group.name().toLowerCase())
+                .register(meterRegistry));
+        }
+        Gauge.builder("recipes.rate-limit.clients", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * @return 0 se liberado; senão, nanos até o cliente poder tentar de novo
+     */
+    public long tryAcquire(RateLimitGroup group, String client) {
+        RateLimitProperties.Budget budget = budgets.get(group);
+        if (budget == null) {
+            return 0;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new ClientKey(group, client),
+            key -> new TokenBucket(budget.getCapacity(), budget.getRefillPerSecond(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            rejectedCounters.get(group).increment();
+        }
+        return waitNanos;
+    }
+
+    private record ClientKey(RateLimitGroup group, String client) {}
+}
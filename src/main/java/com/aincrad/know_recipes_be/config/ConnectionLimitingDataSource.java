@@ -0,0 +1,131 @@
+package com.aincrad.know_recipes_be.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita quantas threads disputam o pool de conexões ao mesmo tempo.
+ * Com virtual threads não há teto de requisições simultâneas: milhares de threads
+ * chegariam juntas ao Hikari. O semáforo (justo) enfileira o excedente antes do pool
+ * e desiste após acquire-timeout, liberando a permissão no close() da conexão.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public ConnectionLimitingDataSource(DataSource target, int maxConcurrent, Duration acquireTimeout) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Limite de conexões simultâneas atingido (" + getQueueLength() + " aguardando)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    private Connection guard(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[]{Connection.class},
+            new ReleaseOnClose(connection));
+    }
+
+    private final class ReleaseOnClose implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnClose(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "close":
+                    try {
+                        target.close();
+                    } finally {
+                        // close() pode ser chamado mais de uma vez; a permissão só volta uma
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -3,30 +3,43 @@ package com.aincrad.know_recipes_be.config;
 import com.aincrad.know_recipes_be.repository.entity.User;
 import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-
-import java.util.Collections;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    // Transação de escrita de propósito: credenciais vêm sempre do primário
+    // (um cadastro recém-feito pode ainda não ter chegado à réplica)
     @Override
+    @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        return org.springframework.security.core.userdetails.User.builder()
-            .username(user.getEmail())
-            .password(user.getPassword())
-            .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
-            .build();
+        return AuthenticatedUser.from(user);
+    }
+
+    /**
+     * Chamado pelo DaoAuthenticationProvider após um login válido quando o custo
+     * do BCrypt configurado aumentou: grava o hash refeito com o novo custo
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+
+        User user = userRepository.findByEmail(userDetails.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+
+        return AuthenticatedUser.from(user);
     }
-}
\ No newline at end of file
+}
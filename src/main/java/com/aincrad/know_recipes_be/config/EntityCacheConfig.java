@@ -0,0 +1,48 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Regiões do cache de segundo nível criadas a partir de recipes.entity-cache e
+ * entregues prontas ao Hibernate (hibernate.javax.cache.cache_manager), em vez
+ * de um arquivo de configuração separado do Caffeine.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    @Bean(destroyMethod = "close")
+    CacheManager entityCacheManager(EntityCacheProperties properties) {
+        // URI própria por contexto: contextos de teste convivem sem disputar as mesmas regiões
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("recipes-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getRegions().forEach((name, region) -> cacheManager.createCache(name, regionConfiguration(region)));
+        return cacheManager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(EntityCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getMaxSize()));
+        if (region.getTtl() != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,29 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache de segundo nível do Hibernate (recipes.entity-cache.*): uma entrada por
+ * região usada em @Cache, @NaturalIdCache ou consultas cacheáveis. Região sem
+ * entrada aqui impede a inicialização (missing_cache_strategy: fail).
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.entity-cache")
+public class EntityCacheProperties {
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+
+        private long maxSize = 10_000;
+
+        // Tempo máximo de uma entrada desde a escrita; sem ttl, só sai por tamanho ou invalidação
+        private Duration ttl;
+    }
+}
@@ -0,0 +1,38 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Imagens enviadas pelos autores (recipes.images.*): diretório local,
+ * limites do upload e o pipeline de miniaturas.
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.images")
+public class ImageProperties {
+
+    private String storageDir = "./data/images";
+
+    // storage-dir é um volume montado em todos os pods (NFS, PVC ReadWriteMany...);
+    // obrigatório com vários pods (ver RecipeImageStorage)
+    private boolean sharedStorage = false;
+
+    // Largura x altura máxima aceita; barra "bombas" de descompressão antes de decodificar
+    private long maxPixels = 40_000_000;
+
+    private Thumbnails thumbnails = new Thumbnails();
+
+    @Data
+    public static class Thumbnails {
+
+        // Maior lado de cada miniatura, em pixels
+        private int smallSize = 320;
+        private int mediumSize = 960;
+
+        private float jpegQuality = 0.82f;
+
+        // Pool de geração: poucas threads (decodificar imagem é caro em CPU e memória)
+        private int threads = 1;
+        private int queueCapacity = 200;
+    }
+}
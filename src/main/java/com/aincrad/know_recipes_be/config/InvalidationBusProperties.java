@@ -0,0 +1,31 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Barramento de invalidação entre pods (recipes.invalidation-bus.*), sobre
+ * LISTEN/NOTIFY do PostgreSQL no banco primário (spring.datasource).
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.invalidation-bus")
+public class InvalidationBusProperties {
+
+    private boolean enabled = false;
+
+    private String channel = "recipes_invalidation";
+
+    // Escritas aguardando envio; com a fila cheia os outros pods recebem um flush completo
+    private int queueCapacity = 10_000;
+
+    // O PostgreSQL limita o payload do NOTIFY a 8000 bytes
+    private int maxPayloadBytes = 7_000;
+
+    // Sem notificações nesse intervalo, a conexão de LISTEN é testada
+    private Duration pollTimeout = Duration.ofSeconds(10);
+
+    private Duration reconnectMinBackoff = Duration.ofSeconds(1);
+    private Duration reconnectMaxBackoff = Duration.ofSeconds(30);
+}
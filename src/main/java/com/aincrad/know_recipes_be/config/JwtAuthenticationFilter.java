@@ -1,11 +1,14 @@
 package com.aincrad.know_recipes_be.config;
 
 import com.aincrad.know_recipes_be.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,14 +19,38 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String STAGE_TIMER = "recipes.auth.jwt";
+
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
 
+    // Tempo de cada etapa: parse (cabeçalho), verify (assinatura/expiração ou cache)
+    // e user_load (principal montado das claims ou, em tokens antigos, lido do banco)
+    private final Timer parseTimer;
+    private final Timer verifyValidTimer;
+    private final Timer verifyInvalidTimer;
+    private final Timer userLoadClaimsTimer;
+    private final Timer userLoadDatabaseTimer;
+
+    public JwtAuthenticationFilter(
+        JwtService jwtService,
+        UserDetailsService userDetailsService,
+        MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+        this.parseTimer = Timer.builder(STAGE_TIMER).tags("stage", "parse", "result", "ok").register(meterRegistry);
+        this.verifyValidTimer = Timer.builder(STAGE_TIMER).tags("stage", "verify", "result", "valid").register(meterRegistry);
+        this.verifyInvalidTimer = Timer.builder(STAGE_TIMER).tags("stage", "verify", "result", "invalid").register(meterRegistry);
+        this.userLoadClaimsTimer = Timer.builder(STAGE_TIMER).tags("stage", "user_load", "result", "claims").register(meterRegistry);
+        this.userLoadDatabaseTimer = Timer.builder(STAGE_TIMER).tags("stage", "user_load", "result", "database").register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(
         @NonNull HttpServletRequest request,
@@ -31,6 +58,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        long start = System.nanoTime();
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
         final String userEmail;
@@ -41,23 +69,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        start = record(parseTimer, start);
+
+        // Assinatura e expiração verificadas uma única vez; token inválido segue como anônimo
+        final Claims claims;
+        try {
+            claims = jwtService.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            record(verifyInvalidTimer, start);
+            filterChain.doFilter(request, response);
+            return;
+        }
+        start = record(verifyValidTimer, start);
+        userEmail = claims.getSubject();
 
         if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails,
-                    null,
-                    userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                    new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            // Identidade vem do próprio token; só tokens antigos (sem claims) consultam o banco
+            UserDetails userDetails = jwtService.extractPrincipal(claims);
+            if (userDetails != null) {
+                record(userLoadClaimsTimer, start);
+            } else {
+                userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                record(userLoadDatabaseTimer, start);
             }
+
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+            );
+            authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+            );
+            SecurityContextHolder.getContext().setAuthentication(authToken);
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static long record(Timer timer, long start) {
+        long now = System.nanoTime();
+        timer.record(now - start, TimeUnit.NANOSECONDS);
+        return now;
+    }
+}
@@ -0,0 +1,15 @@
+package com.aincrad.know_recipes_be.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+}
@@ -0,0 +1,30 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hash de senha (recipes.auth.password-hashing.*): custo do BCrypt e o pool
+ * dedicado onde login e cadastro fazem o hash, fora das threads de requisição.
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.auth.password-hashing")
+public class PasswordHashingProperties {
+
+    // Custo do BCrypt (log2 das rodadas); hashes com custo menor são refeitos no próximo login
+    private int strength = 10;
+
+    // Por padrão metade dos núcleos: o resto fica livre para a API de leitura
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    // Hashes aguardando uma thread; acima disso a requisição é recusada com 429
+    private int queueCapacity = 100;
+
+    // Tempo máximo que a requisição espera pelo hash (fila + cálculo)
+    private Duration maxWait = Duration.ofSeconds(5);
+
+    // Valor do Retry-After nas respostas 429
+    private Duration retryAfter = Duration.ofSeconds(1);
+}
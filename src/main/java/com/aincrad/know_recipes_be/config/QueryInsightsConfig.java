@@ -0,0 +1,70 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.service.query.QueryInsights;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.function.Supplier;
+
+/**
+ * Envolve o DataSource principal (o usado por Hibernate, JdbcTemplate e Flyway) com
+ * {@link QueryInsightsDataSource}. Com réplicas, o proxy fica sobre o roteamento e
+ * mede também as leituras nas réplicas. O EXPLAIN usa o DataSource sem o proxy, fora das
+ * transações da aplicação (logo, pelo primário), numa transação própria com
+ * SET TRANSACTION READ ONLY e SET LOCAL statement_timeout, sempre revertida.
+ */
+@Configuration
+@ConditionalOnBooleanProperty(name = "recipes.query-insights.enabled", matchIfMissing = true)
+public class QueryInsightsConfig {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    static QueryInsightsDataSourcePostProcessor queryInsightsDataSourcePostProcessor(
+        ObjectProvider<QueryInsights> queryInsights
+    ) {
+        return new QueryInsightsDataSourcePostProcessor(queryInsights);
+    }
+
+    /**
+     * Último proxy da cadeia (LOWEST_PRECEDENCE): roda depois do limite de conexões do
+     * modo virtual threads, que precisa encontrar o Hikari ainda sem embrulho.
+     */
+    static final class QueryInsightsDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<QueryInsights> queryInsights;
+
+        QueryInsightsDataSourcePostProcessor(ObjectProvider<QueryInsights> queryInsights) {
+            this.queryInsights = queryInsights;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new QueryInsightsDataSource(dataSource, new Supplier<>() {
+                private volatile QueryInsights resolved;
+
+                @Override
+                public QueryInsights get() {
+                    // Resolvido na primeira execução: o BeanPostProcessor não pode depender do bean
+                    if (resolved == null) {
+                        resolved = queryInsights.getIfAvailable();
+                    }
+                    return resolved;
+                }
+            });
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
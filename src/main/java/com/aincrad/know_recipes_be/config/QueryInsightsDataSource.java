@@ -0,0 +1,304 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.service.query.BoundParameter;
+import com.aincrad.know_recipes_be.service.query.QueryInsights;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Proxy JDBC que mede cada execução e repassa a {@link QueryInsights}: o tempo vai da
+ * chamada execute* até o fechamento do ResultSet (inclui a leitura das linhas), e as
+ * linhas são as lidas com next() ou as afetadas pelo update/batch. Os parâmetros dos
+ * PreparedStatements são guardados para que uma consulta lenta possa ser repetida
+ * com EXPLAIN.
+ */
+public class QueryInsightsDataSource extends DelegatingDataSource {
+
+    private static final List<BoundParameter> NO_PARAMETERS = List.of();
+
+    private final Supplier<QueryInsights> insights;
+
+    public QueryInsightsDataSource(DataSource target, Supplier<QueryInsights> insights) {
+        super(target);
+        this.insights = insights;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * equals/hashCode por identidade e unwrap/isWrapperFor que reconhecem o próprio proxy;
+     * null quando o método deve seguir para o objeto real
+     */
+    private static Object handleObjectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "unwrap" -> ((Class<?>) args[0]).isInstance(proxy) ? proxy : null;
+            case "isWrapperFor" -> ((Class<?>) args[0]).isInstance(proxy) ? Boolean.TRUE : null;
+            default -> null;
+        };
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object handled = handleObjectMethod(proxy, method, args);
+            if (handled != null) {
+                return handled;
+            }
+
+            Object result = invokeTarget(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" ->
+                    proxy(Statement.class, new StatementHandler((Statement) result, (Connection) proxy, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class,
+                    new StatementHandler((Statement) result, (Connection) proxy, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class,
+                    new StatementHandler((Statement) result, (Connection) proxy, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    /**
+     * Statement, PreparedStatement ou CallableStatement; usado por uma thread de cada vez
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+        private final String preparedSql;
+        private final Map<Integer, BoundParameter> parameters = new TreeMap<>();
+        private PendingQuery pending;
+
+        private StatementHandler(Statement target, Connection connection, String preparedSql) {
+            this.target = target;
+            this.connection = connection;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object handled = handleObjectMethod(proxy, method, args);
+            if (handled != null) {
+                return handled;
+            }
+
+            String name = method.getName();
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                && args[0] instanceof Integer index) {
+                parameters.put(index, new BoundParameter(method, args.clone()));
+                return invokeTarget(target, method, args);
+            }
+            switch (name) {
+                case "getConnection":
+                    return connection;
+                case "clearParameters":
+                    parameters.clear();
+                    break;
+                case "close":
+                    finishPending();
+                    break;
+                case "getResultSet": {
+                    ResultSet resultSet = (ResultSet) invokeTarget(target, method, args);
+                    return resultSet == null || pending == null ? resultSet : wrap(resultSet, (Statement) proxy);
+                }
+                case "executeQuery":
+                case "execute":
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                case "executeBatch":
+                case "executeLargeBatch":
+                    return execute(proxy, method, args);
+                default:
+                    break;
+            }
+            return invokeTarget(target, method, args);
+        }
+
+        private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+            finishPending();
+            QueryInsights recorder = insights.get();
+            String sql = args != null && args.length > 0 && args[0] instanceof String statementSql
+                ? statementSql : preparedSql;
+            if (recorder == null || sql == null) {
+                return invokeTarget(target, method, args);
+            }
+
+            List<BoundParameter> bound = parameters.isEmpty() ? NO_PARAMETERS : new ArrayList<>(parameters.values());
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (Throwable e) {
+                recorder.record(sql, System.nanoTime() - start, 0, true, bound, getTargetDataSource());
+                throw e;
+            }
+
+            switch (method.getName()) {
+                case "executeQuery":
+                    pending = new PendingQuery(recorder, sql, start, bound);
+                    return wrap((ResultSet) result, (Statement) proxy);
+                case "execute":
+                    if ((Boolean) result) {
+                        pending = new PendingQuery(recorder, sql, start, bound);
+                    } else {
+                        recorder.record(sql, System.nanoTime() - start, Math.max(target.getUpdateCount(), 0),
+                            false, bound, getTargetDataSource());
+                    }
+                    return result;
+                case "executeUpdate":
+                case "executeLargeUpdate":
+                    recorder.record(sql, System.nanoTime() - start, ((Number) result).longValue(),
+                        false, bound, getTargetDataSource());
+                    return result;
+                default:
+                    recorder.record(sql, System.nanoTime() - start, batchRows(result), false, bound, getTargetDataSource());
+                    return result;
+            }
+        }
+
+        private ResultSet wrap(ResultSet resultSet, Statement statement) {
+            return proxy(ResultSet.class, new ResultSetHandler(resultSet, statement, pending));
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                pending.finish();
+                pending = null;
+            }
+        }
+    }
+
+    /**
+     * Conta as linhas lidas; fechar o ResultSet (ou o statement) encerra a medição
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final Statement statement;
+        private final PendingQuery pending;
+
+        private ResultSetHandler(ResultSet target, Statement statement, PendingQuery pending) {
+            this.target = target;
+            this.statement = statement;
+            this.pending = pending;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object handled = handleObjectMethod(proxy, method, args);
+            if (handled != null) {
+                return handled;
+            }
+
+            switch (method.getName()) {
+                case "next": {
+                    Object hasRow = invokeTarget(target, method, args);
+                    if ((Boolean) hasRow) {
+                        pending.rows++;
+                    }
+                    return hasRow;
+                }
+                case "getStatement":
+                    return statement;
+                case "close":
+                    try {
+                        return invokeTarget(target, method, args);
+                    } finally {
+                        pending.finish();
+                    }
+                default:
+                    return invokeTarget(target, method, args);
+            }
+        }
+    }
+
+    private final class PendingQuery {
+
+        private final QueryInsights recorder;
+        private final String sql;
+        private final long start;
+        private final List<BoundParameter> parameters;
+        private long rows;
+        private boolean finished;
+
+        private PendingQuery(QueryInsights recorder, String sql, long start, List<BoundParameter> parameters) {
+            this.recorder = recorder;
+            this.sql = sql;
+            this.start = start;
+            this.parameters = parameters;
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                recorder.record(sql, System.nanoTime() - start, rows, false, parameters, getTargetDataSource());
+            }
+        }
+    }
+
+    /**
+     * SUCCESS_NO_INFO (-2, comum com reWriteBatchedInserts) conta como uma linha
+     */
+    private static long batchRows(Object result) {
+        long rows = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += count >= 0 ? count : 1;
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += count >= 0 ? count : 1;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,47 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Estatísticas por statement medidas no JDBC e captura de planos das consultas lentas
+ * (recipes.query-insights.*); consultadas em /actuator/queries
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.query-insights")
+public class QueryInsightsProperties {
+
+    private boolean enabled = true;
+
+    // Statements normalizados distintos acompanhados; os excedentes somam em uma entrada única
+    private int maxStatements = 500;
+
+    // Tamanho máximo do SQL normalizado guardado
+    private int maxSqlLength = 2_000;
+
+    // Ranking das execuções mais lentas dentro da janela
+    private int topN = 20;
+    private Duration topNWindow = Duration.ofMinutes(15);
+
+    private Explain explain = new Explain();
+
+    @Data
+    public static class Explain {
+
+        // Só no PostgreSQL; SELECTs acima do limite são repetidos com EXPLAIN (ANALYZE, BUFFERS)
+        private boolean enabled = true;
+
+        private Duration threshold = Duration.ofMillis(500);
+
+        // Intervalo mínimo entre dois EXPLAIN do mesmo statement
+        private Duration minInterval = Duration.ofMinutes(10);
+
+        // statement_timeout do EXPLAIN (a consulta é executada de novo)
+        private Duration statementTimeout = Duration.ofSeconds(10);
+
+        // Pedidos aguardando a thread de EXPLAIN; com a fila cheia o pedido é descartado
+        private int queueCapacity = 16;
+    }
+}
@@ -0,0 +1,109 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.exception.ApiErrorResponse;
+import com.aincrad.know_recipes_be.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita requisições por cliente e grupo de rota antes da autenticação.
+ * Com token válido o orçamento é do usuário (uid das claims, verificação em cache
+ * no JwtService); sem token, ou com token inválido, é do IP de origem. Atrás do
+ * ingress, esse IP vem do X-Forwarded-For, resolvido pelo Tomcat só para proxies
+ * confiáveis (server.forward-headers-strategy); o header nunca é lido aqui.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final JwtService jwtService;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final ClientRateLimiter rateLimiter;
+
+    public RateLimitFilter(
+        JwtService jwtService,
+        JsonMapper jsonMapper,
+        RateLimitProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.jsonMapper = jsonMapper;
+        this.enabled = properties.isEnabled();
+        this.rateLimiter = new ClientRateLimiter(properties, meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimitGroup group = RateLimitGroup.of(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = rateLimiter.tryAcquire(group, clientKey(request));
+        if (waitNanos > 0) {
+            reject(request, response, waitNanos);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtService.verify(authHeader.substring(7));
+                AuthenticatedUser user = jwtService.extractPrincipal(claims);
+                return user != null ? "user:" + user.getId() : "user:" + claims.getSubject();
+            } catch (JwtException | IllegalArgumentException e) {
+                // Token inválido conta no IP; o JwtAuthenticationFilter segue como anônimo
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+
+        ApiErrorResponse body = new ApiErrorResponse(
+            Instant.now(),
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Muitas requisições",
+            "Limite de requisições atingido. Tente novamente em instantes.",
+            request.getRequestURI()
+        );
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        jsonMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,33 @@
+package com.aincrad.know_recipes_be.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Grupos de rota com orçamentos de requisições independentes: um scraper
+ * esgotando a busca não consome o orçamento de leitura nem o de login.
+ */
+public enum RateLimitGroup {
+
+    AUTH,
+    SEARCH,
+    READ,
+    WRITE;
+
+    /**
+     * Grupo da requisição, ou null para rotas fora da API (actuator, erros)
+     */
+    public static RateLimitGroup of(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/auth/")) {
+            return AUTH;
+        }
+        if (path.startsWith("/api/recipes/search/")) {
+            return SEARCH;
+        }
+        if (!path.startsWith("/api/")) {
+            return null;
+        }
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+}
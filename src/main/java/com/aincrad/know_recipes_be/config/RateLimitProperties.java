@@ -0,0 +1,50 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Limite de requisições por cliente (recipes.rate-limit.*). Cliente é o usuário
+ * do token, quando válido, ou o IP de origem.
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Buckets em memória; os menos usados são descartados acima disso
+    private long maxClients = 100_000;
+
+    // Bucket sem uso por esse tempo é descartado (volta cheio na próxima requisição)
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<RateLimitGroup, Budget> groups = defaultGroups();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+
+        // Rajada máxima (tamanho do bucket)
+        private int capacity;
+
+        // Reposição contínua de fichas
+        private double refillPerSecond;
+    }
+
+    private static Map<RateLimitGroup, Budget> defaultGroups() {
+        Map<RateLimitGroup, Budget> groups = new EnumMap<>(RateLimitGroup.class);
+        groups.put(RateLimitGroup.AUTH, new Budget(10, 0.5));
+        groups.put(RateLimitGroup.SEARCH, new Budget(30, 10));
+        groups.put(RateLimitGroup.READ, new Budget(120, 50));
+        groups.put(RateLimitGroup.WRITE, new Budget(30, 5));
+        return groups;
+    }
+}
@@ -0,0 +1,89 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Roteamento de leituras para réplicas (recipes.datasource.routing.enabled=true).
+ * O primário continua configurado por spring.datasource / spring.datasource.hikari;
+ * o DataSource exposto à aplicação é o proxy lazy sobre o {@link ReplicaRoutingDataSource}.
+ * Os pools das réplicas não são beans: com virtual threads, recebem aqui o mesmo limite de
+ * concorrência do primário; o QueryInsightsDataSource já fica acima do roteamento.
+ */
+@Configuration
+@ConditionalOnProperty(name = "recipes.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    ReadYourWritesTracker readYourWritesTracker(ReadReplicaProperties properties) {
+        return new ReadYourWritesTracker(properties.getRouting().getReadYourWritesWindow());
+    }
+
+    @Bean(destroyMethod = "close")
+    ReplicaRoutingDataSource replicaRoutingDataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        DataSourceProperties primaryProperties,
+        ReadReplicaProperties properties,
+        ReadYourWritesTracker readYourWritesTracker,
+        ObjectProvider<VirtualThreadConfig.ConnectionLimitingDataSourcePostProcessor> connectionGuard
+    ) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReadReplicaProperties.Replica> configured = properties.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            String name = "replica-" + i;
+            HikariDataSource pool = replicaDataSource(name, configured.get(i), primaryProperties);
+            VirtualThreadConfig.ConnectionLimitingDataSourcePostProcessor guard = connectionGuard.getIfAvailable();
+            replicas.put(name, guard != null ? guard.guard(name, pool) : pool);
+        }
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            primaryDataSource, replicas, readYourWritesTracker, properties.getRouting().getMaxLag());
+        routing.startHealthChecks(properties.getRouting().getHealthCheckInterval());
+        return routing;
+    }
+
+    // A conexão só é obtida no primeiro statement, quando a transação já se declarou read-only
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource replicaDataSource(
+        String name,
+        ReadReplicaProperties.Replica replica,
+        DataSourceProperties primaryProperties
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        // Réplica fora do ar não pode impedir a aplicação de subir
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+}
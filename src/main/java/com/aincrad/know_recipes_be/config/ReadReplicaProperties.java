@@ -0,0 +1,43 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura (recipes.datasource.*). Usuário e senha das réplicas
+ * são herdados de spring.datasource quando omitidos.
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.datasource")
+public class ReadReplicaProperties {
+
+    private Routing routing = new Routing();
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Data
+    public static class Routing {
+
+        private boolean enabled = false;
+
+        // Após uma escrita, as leituras do mesmo usuário vão ao primário por esse tempo
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+        // Réplica com atraso de replicação maior que isso fica fora do rodízio
+        private Duration maxLag = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
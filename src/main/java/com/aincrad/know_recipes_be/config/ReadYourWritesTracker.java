@@ -0,0 +1,47 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Usuários que escreveram recentemente. Enquanto a janela estiver aberta, as leituras
+ * deles vão ao primário, para que vejam a própria escrita mesmo com a réplica atrasada.
+ * A janela vale por instância da aplicação.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumSize(100_000)
+            .build();
+    }
+
+    public void markWrite(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean mustReadFromPrimary(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    // A janela começa no commit: antes dele a réplica não tem como estar em dia
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        markWrite(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        markWrite(event.userId());
+    }
+}
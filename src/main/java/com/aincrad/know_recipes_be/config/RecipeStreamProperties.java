@@ -0,0 +1,39 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Stream SSE de novidades do catálogo público (recipes.stream.*)
+ */
+@Data
+@ConfigurationProperties(prefix = "recipes.stream")
+public class RecipeStreamProperties {
+
+    // Conexões abertas ao mesmo tempo neste pod; acima disso, 503 com Retry-After
+    private int maxClients = 10_000;
+
+    // Eventos aguardando envio por cliente; um cliente que não acompanha é desconectado
+    private int clientBuffer = 64;
+
+    // Últimos eventos guardados para retomar a conexão pelo Last-Event-ID
+    private int replaySize = 1_000;
+
+    // Comentário periódico: mantém proxies abertos e detecta clientes que sumiram
+    private Duration heartbeat = Duration.ofSeconds(20);
+
+    // Duração máxima de uma conexão; o EventSource reconecta com Last-Event-ID
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    // Threads que escrevem nos sockets (nenhuma fica presa a um cliente ocioso)
+    private int senderThreads = 4;
+
+    // Escrita em andamento há mais que isso: o cliente é desconectado e o pool ganha
+    // uma thread no lugar da que ficou presa no socket
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    // Teto do pool de envio somando as threads emprestadas
+    private int maxSenderThreads = 64;
+}
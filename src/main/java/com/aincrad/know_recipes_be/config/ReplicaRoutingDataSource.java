@@ -0,0 +1,206 @@
+package com.aincrad.know_recipes_be.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envia transações read-only para as réplicas (rodízio entre as saudáveis) e todo o resto ao primário.
+ * <ul>
+ *   <li>Read-your-writes: o usuário que escreveu há pouco lê do primário ({@link ReadYourWritesTracker})</li>
+ *   <li>Failover: réplica que falha ao conectar sai do rodízio até o próximo health check bem-sucedido</li>
+ *   <li>Health check periódico: conexão válida e atraso de replicação até maxLag</li>
+ * </ul>
+ * Precisa estar atrás de um LazyConnectionDataSourceProxy: a conexão só pode ser
+ * obtida depois que a transação marcou se é read-only.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private static final String LAG_QUERY =
+        "SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)";
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        Map<String, DataSource> replicas,
+        ReadYourWritesTracker readYourWritesTracker,
+        Duration maxLag
+    ) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+            .map(entry -> new ReplicaNode(entry.getKey(), entry.getValue()))
+            .toList();
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public void startHealthChecks(Duration interval) {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Long userId = AuthenticatedUser.current().map(AuthenticatedUser::getId).orElse(null);
+        if (readYourWritesTracker.mustReadFromPrimary(userId)) {
+            return PRIMARY;
+        }
+        ReplicaNode replica = nextHealthyReplica();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+
+        ReplicaNode replica = replica(key);
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            // Failover: leitura segue no primário e a réplica aguarda o próximo health check
+            replica.markDown(e);
+            return primary.getConnection();
+        }
+    }
+
+    /**
+     * Um ciclo de health check em todas as réplicas (chamado pelo agendador)
+     */
+    void checkHealth() {
+        for (ReplicaNode replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Duration lag = lag(connection);
+                if (lag.compareTo(maxLag) > 0) {
+                    replica.markDown("atraso de replicação de " + lag.toSeconds() + "s");
+                } else {
+                    replica.markUp();
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    boolean isHealthy(String replicaName) {
+        return replica(replicaName).healthy;
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (ReplicaNode replica : replicas) {
+            try {
+                // O pool pode estar atrás de um proxy (limite de conexões): unwrap chega até ele
+                if (replica.dataSource.isWrapperFor(AutoCloseable.class)) {
+                    replica.dataSource.unwrap(AutoCloseable.class).close();
+                }
+            } catch (Exception e) {
+                log.warn("Falha ao fechar a réplica {}", replica.name, e);
+            }
+        }
+    }
+
+    private ReplicaNode nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            ReplicaNode replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private ReplicaNode replica(Object name) {
+        for (ReplicaNode replica : replicas) {
+            if (replica.name.equals(name)) {
+                return replica;
+            }
+        }
+        throw new IllegalStateException("Réplica desconhecida: " + name);
+    }
+
+    private Duration lag(Connection connection) throws SQLException {
+        // Só faz sentido no PostgreSQL; um primário (ou banco comum) retorna 0
+        if (!connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")) {
+            return Duration.ZERO;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            return Duration.ofMillis((long) (resultSet.getDouble(1) * 1000));
+        }
+    }
+
+    private static final class ReplicaNode {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private ReplicaNode(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                log.info("Réplica {} de volta ao rodízio de leitura", name);
+            }
+            healthy = true;
+        }
+
+        private void markDown(Exception cause) {
+            markDown(cause.getMessage());
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                log.warn("Réplica {} fora do rodízio de leitura: {}", name, reason);
+            }
+            healthy = false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.aincrad.know_recipes_be.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra quantos statements SQL cada requisição executou (recipes.db.statements),
+ * por método e rota. Roda antes do Spring Security para incluir o carregamento do usuário.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        StatementCountingInspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = StatementCountingInspector.stop();
+            if (statements >= 0) {
+                // Rota como template (/api/recipes/{id}) para não explodir a cardinalidade
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("recipes.db.statements")
+                    .description("Statements SQL executados por requisição")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route != null ? route.toString() : "UNKNOWN")
+                    .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50)
+                    .register(meterRegistry)
+                    .record(statements);
+            }
+        }
+    }
+}
@@ -1,26 +1,35 @@
 package com.aincrad.know_recipes_be.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,13 +37,21 @@ import java.util.List;
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class SecurityConfig {
 
+    private static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserDetailsService userDetailsService;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+        HttpSecurity http,
+        AuthenticationProvider authenticationProvider,
+        @Value("${recipes.admin.token:}") String adminToken
+    ) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -42,19 +59,39 @@ public class SecurityConfig {
                 .requestMatchers(
                     "/api/auth/**",
                     "/api/recipes/public/**",
-                    "/api/recipes/search/**"
+                    "/api/recipes/search/**",
+                    "/api/images/**",
+                    "/actuator/health/**"
                 ).permitAll()
+                // Endpoints do plantão (SQL e planos de execução) e as métricas (rotas, contagens, latências):
+                // só com o token, nunca com o JWT de um usuário. O scrape do Prometheus envia o header
+                .requestMatchers("/actuator/queries/**", "/actuator/metrics/**", "/actuator/prometheus")
+                    .access(adminToken(adminToken))
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
-            .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+            .authenticationProvider(authenticationProvider)
+            .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Compara o header X-Admin-Token com recipes.admin.token em tempo constante;
+     * sem token configurado, o acesso é sempre negado
+     */
+    private static AuthorizationManager<RequestAuthorizationContext> adminToken(String adminToken) {
+        byte[] expected = adminToken.getBytes(StandardCharsets.UTF_8);
+        return (authentication, context) -> {
+            String provided = context.getRequest().getHeader(ADMIN_TOKEN_HEADER);
+            return new AuthorizationDecision(expected.length > 0 && provided != null
+                && MessageDigest.isEqual(expected, provided.getBytes(StandardCharsets.UTF_8)));
+        };
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -76,9 +113,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Hash com custo abaixo do configurado é refeito no login bem-sucedido
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            authProvider.setUserDetailsPasswordService(passwordService);
+        }
         return authProvider;
     }
 
@@ -87,8 +128,13 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt com custo configurável, executado no pool limitado de hash
+     * (o timer mede só o cálculo, sem a espera na fila)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry, PasswordHashingProperties properties) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getStrength());
+        return new BoundedPasswordEncoder(new TimedPasswordEncoder(bcrypt, meterRegistry), properties, meterRegistry);
     }
 }
\ No newline at end of file
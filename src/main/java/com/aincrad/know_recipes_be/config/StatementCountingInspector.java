@@ -0,0 +1,35 @@
+package com.aincrad.know_recipes_be.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os statements SQL preparados pelo Hibernate na thread atual.
+ * A contagem só acontece entre {@link #start()} e {@link #stop()}, chamados
+ * por {@link RequestMetricsFilter} em volta de cada requisição.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    static void start() {
+        COUNTER.set(new int[1]);
+    }
+
+    /**
+     * @return statements executados desde {@link #start()}, ou -1 se a contagem não foi iniciada
+     */
+    static int stop() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? -1 : counter[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+}
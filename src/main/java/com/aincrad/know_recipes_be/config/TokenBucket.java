@@ -0,0 +1,43 @@
+package com.aincrad.know_recipes_be.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock, na forma de GCRA: em vez de contar fichas e o instante
+ * da última reposição, guarda um único long (o "instante teórico de chegada") e
+ * o avança com compareAndSet. Mesmo comportamento de rajada e reposição, sem
+ * alocação por requisição.
+ */
+public final class TokenBucket {
+
+    // Intervalo entre fichas e janela de rajada (capacity * intervalo), em nanos
+    private final long emissionInterval;
+    private final long burstWindow;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.emissionInterval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstWindow = emissionInterval * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Consome uma ficha.
+     *
+     * @return 0 se liberado; senão, nanos até a próxima ficha disponível
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionInterval;
+            long excess = next - nowNanos - burstWindow;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
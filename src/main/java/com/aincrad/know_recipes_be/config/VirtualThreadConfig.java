@@ -0,0 +1,87 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Ajustes para o modo virtual threads (perfil "virtual", Java 21+).
+ * O Tomcat passa a atender cada requisição em uma virtual thread; o DataSource
+ * é envolvido por {@link ConnectionLimitingDataSource} para que a concorrência
+ * ilimitada não vire uma corrida pelas poucas conexões do Hikari.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    static ConnectionLimitingDataSourcePostProcessor connectionLimitingDataSourcePostProcessor(
+        Environment environment,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new ConnectionLimitingDataSourcePostProcessor(environment, meterRegistry);
+    }
+
+    /**
+     * Envolve o Hikari antes de qualquer outro proxy (HIGHEST_PRECEDENCE): quem vier depois,
+     * como o QueryInsightsDataSource, embrulha o limite e não esconde o pool da checagem de tipo.
+     * O tipo concreto no retorno do @Bean é o que faz o Spring enxergar o Ordered antes de instanciar.
+     */
+    static final class ConnectionLimitingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        ConnectionLimitingDataSourcePostProcessor(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.environment = environment;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            // Só o pool (Hikari); proxies sobre ele, como o roteamento de réplicas, já passam pelo limite
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            return guard(beanName, hikari);
+        }
+
+        /**
+         * Envolve um pool com o limite de concorrência; usado também para as réplicas,
+         * que são montadas dentro do roteamento e não passam por este post-processor
+         */
+        ConnectionLimitingDataSource guard(String poolName, HikariDataSource hikari) {
+            // Por padrão, uma permissão por conexão do pool
+            int defaultPermits = hikari.getMaximumPoolSize();
+            int maxConcurrent = environment.getProperty(
+                "recipes.datasource.guard.max-concurrent", Integer.class, defaultPermits);
+            Duration acquireTimeout = environment.getProperty(
+                "recipes.datasource.guard.acquire-timeout", Duration.class, Duration.ofSeconds(3));
+
+            ConnectionLimitingDataSource guarded =
+                new ConnectionLimitingDataSource(hikari, maxConcurrent, acquireTimeout);
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("recipes.datasource.guard.available", guarded,
+                    ConnectionLimitingDataSource::getAvailablePermits).tag("pool", poolName).register(registry);
+                Gauge.builder("recipes.datasource.guard.waiting", guarded,
+                    ConnectionLimitingDataSource::getQueueLength).tag("pool", poolName).register(registry);
+            });
+            return guarded;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
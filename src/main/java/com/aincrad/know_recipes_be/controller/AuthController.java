@@ -5,6 +5,7 @@ import com.aincrad.know_recipes_be.dto.AuthResponse;
 import com.aincrad.know_recipes_be.dto.LoginRequest;
 import com.aincrad.know_recipes_be.dto.RegisterRequest;
 import com.aincrad.know_recipes_be.exception.BusinessRuleException;
+import com.aincrad.know_recipes_be.exception.PasswordHashingRejectedException;
 import com.aincrad.know_recipes_be.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,9 @@ public class AuthController {
         try {
             AuthResponse response = authService.login(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingRejectedException e) {
+            // Pool de hash saturado não é credencial errada: 429 com Retry-After (GlobalExceptionHandler)
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
@@ -0,0 +1,42 @@
+package com.aincrad.know_recipes_be.controller;
+
+import com.aincrad.know_recipes_be.service.query.QueryInsights;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint do plantão: /actuator/queries
+ * GET lista o ranking das execuções mais lentas e os statements com mais tempo acumulado;
+ * GET /actuator/queries/{id} traz o histograma e o último plano capturado do statement;
+ * DELETE zera as estatísticas. Protegido pelo header X-Admin-Token (recipes.admin.token).
+ */
+@Component
+@Endpoint(id = "queries")
+@RequiredArgsConstructor
+public class QueryInsightsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final QueryInsights queryInsights;
+
+    @ReadOperation
+    public QueryInsights.Report report(@Nullable Integer limit) {
+        return queryInsights.report(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit);
+    }
+
+    // null vira 404
+    @ReadOperation
+    public QueryInsights.Detail statement(@Selector String id) {
+        return queryInsights.detail(id);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        queryInsights.reset();
+    }
+}
@@ -1,18 +1,43 @@
 package com.aincrad.know_recipes_be.controller;
 
+import com.aincrad.know_recipes_be.dto.RecipeBatchItem;
+import com.aincrad.know_recipes_be.dto.RecipeImportResponse;
 import com.aincrad.know_recipes_be.dto.RecipeRequest;
 import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.dto.ScrollResponse;
+import com.aincrad.know_recipes_be.dto.SearchSort;
+import com.aincrad.know_recipes_be.dto.SliceResponse;
+import com.aincrad.know_recipes_be.dto.TitleSuggestion;
+import com.aincrad.know_recipes_be.repository.projection.RecipeVersion;
+import com.aincrad.know_recipes_be.service.RecipeFeedCache;
+import com.aincrad.know_recipes_be.service.RecipeExportService;
+import com.aincrad.know_recipes_be.service.RecipeImportService;
 import com.aincrad.know_recipes_be.service.RecipeService;
+import com.aincrad.know_recipes_be.service.typeahead.RecipeTitleIndex;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/recipes")
@@ -20,6 +45,26 @@ import java.util.Map;
 public class RecipeController {
 
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
+    private final RecipeExportService recipeExportService;
+    private final RecipeTitleIndex recipeTitleIndex;
+
+    // Por quanto tempo navegadores e caches compartilhados podem reutilizar sem revalidar
+    @Value("${recipes.http-cache.recipe-max-age:60s}")
+    private Duration recipeMaxAge;
+
+    @Value("${recipes.http-cache.feed-max-age:10s}")
+    private Duration feedMaxAge;
+
+    @Value("${recipes.http-cache.typeahead-max-age:30s}")
+    private Duration typeaheadMaxAge;
+
+    @Value("${recipes.batch.max-items:100}")
+    private int batchMaxItems;
+
+    // Teto do parâmetro size das listagens (página, slice, cursor e busca)
+    @Value("${recipes.pagination.max-size:100}")
+    private int maxPageSize;
 
     /**
      * POST /api/recipes
@@ -35,6 +80,36 @@ public class RecipeController {
         }
     }
 
+    /**
+     * POST /api/recipes/bulk
+     * Importa receitas em lote a partir de um array JSON (requer autenticação)
+     * Itens inválidos são reportados individualmente; os válidos são importados.
+     * O array é lido em streaming: acima de recipes.import.max-items responde 400 sem ler o resto
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RecipeImportResponse> importRecipes(InputStream body) {
+        try {
+            RecipeImportResponse response = recipeImportService.importRecipeArray(body);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * POST /api/recipes/bulk
+     * Importa receitas em lote a partir de NDJSON, uma receita por linha (requer autenticação)
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<RecipeImportResponse> importRecipesNdjson(InputStream body) throws IOException {
+        try {
+            RecipeImportResponse response = recipeImportService.importRecipes(body);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * PUT /api/recipes/{id}
      * Atualiza uma receita existente (requer autenticação e ser o autor)
@@ -68,12 +143,19 @@ public class RecipeController {
     /**
      * GET /api/recipes/{id}
      * Busca receita por ID
+     * Suporta If-None-Match / If-Modified-Since (304 sem carregar a receita)
      */
     @GetMapping("/public/{id}")
-    public ResponseEntity<RecipeResponse> getRecipeById(@PathVariable Long id) {
+    public ResponseEntity<RecipeResponse> getRecipeById(@PathVariable Long id, WebRequest webRequest) {
         try {
+            if (isConditional(webRequest)) {
+                RecipeVersion version = recipeService.getRecipeVersion(id);
+                if (isNotModified(webRequest, version)) {
+                    return notModified(version.isPrivate());
+                }
+            }
             RecipeResponse response = recipeService.getRecipeById(id);
-            return ResponseEntity.ok(response);
+            return okWithValidators(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
@@ -82,11 +164,22 @@ public class RecipeController {
     /**
      * GET /api/recipes/public/feed
      * Feed principal - 10 receitas mais recentes (público)
+     * Suporta If-None-Match / If-Modified-Since
      */
     @GetMapping("/public/feed")
-    public ResponseEntity<List<RecipeResponse>> getRecentRecipes() {
-        List<RecipeResponse> recipes = recipeService.getRecentRecipes();
-        return ResponseEntity.ok(recipes);
+    public ResponseEntity<byte[]> getRecentRecipes(WebRequest webRequest) {
+        // JSON e validadores já calculados pelo cache do feed
+        RecipeFeedCache.Snapshot feed = recipeService.getRecentRecipesFeed();
+        CacheControl cacheControl = CacheControl.maxAge(feedMaxAge).cachePublic();
+        if (webRequest.checkNotModified(feed.eTag(), feed.lastModified())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+            .cacheControl(cacheControl)
+            .eTag(feed.eTag())
+            .lastModified(feed.lastModified())
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(feed.json());
     }
 
     /**
@@ -98,8 +191,47 @@ public class RecipeController {
     public ResponseEntity<Page<RecipeResponse>> getPublicRecipes(
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "20") int size) {
-        Page<RecipeResponse> recipes = recipeService.getPublicRecipes(page, size);
-        return ResponseEntity.ok(recipes);
+        try {
+            Page<RecipeResponse> recipes = recipeService.getPublicRecipes(page, pageSize(size));
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/recipes/public?mode=slice
+     * Lista receitas públicas sem contagem total: uma única consulta (size + 1 linhas)
+     * Query params: page (default 0), size (default 20), approximateTotal (default false)
+     */
+    @GetMapping(value = "/public", params = {"mode=slice", "!cursor"})
+    public ResponseEntity<SliceResponse<RecipeResponse>> getPublicRecipesSlice(
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        try {
+            SliceResponse<RecipeResponse> recipes = recipeService.getPublicRecipesSlice(page, pageSize(size), approximateTotal);
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/recipes/public?cursor=...
+     * Lista receitas públicas por cursor (keyset); cursor vazio retorna a primeira página
+     * Query params: cursor (opaco, retornado em nextCursor), size (default 20)
+     */
+    @GetMapping(value = "/public", params = "cursor")
+    public ResponseEntity<ScrollResponse<RecipeResponse>> getPublicRecipesByCursor(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+        try {
+            ScrollResponse<RecipeResponse> recipes = recipeService.getPublicRecipesAfter(cursor, pageSize(size));
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     /**
@@ -112,39 +244,177 @@ public class RecipeController {
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "20") int size) {
         try {
-            Page<RecipeResponse> recipes = recipeService.getMyRecipes(page, size);
+            Page<RecipeResponse> recipes = recipeService.getMyRecipes(page, pageSize(size));
             return ResponseEntity.ok(recipes);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
 
+    /**
+     * GET /api/recipes/my?mode=slice
+     * Lista receitas do usuário autenticado sem contagem total
+     * Query params: page (default 0), size (default 20), approximateTotal (default false)
+     */
+    @GetMapping(value = "/my", params = {"mode=slice", "!cursor"})
+    public ResponseEntity<SliceResponse<RecipeResponse>> getMyRecipesSlice(
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        try {
+            SliceResponse<RecipeResponse> recipes = recipeService.getMyRecipesSlice(page, pageSize(size), approximateTotal);
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    /**
+     * GET /api/recipes/my?cursor=...
+     * Lista receitas do usuário autenticado por cursor (keyset); cursor vazio retorna a primeira página
+     * Query params: cursor (opaco, retornado em nextCursor), size (default 20)
+     */
+    @GetMapping(value = "/my", params = "cursor")
+    public ResponseEntity<ScrollResponse<RecipeResponse>> getMyRecipesByCursor(
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size) {
+        try {
+            ScrollResponse<RecipeResponse> recipes = recipeService.getMyRecipesAfter(cursor, pageSize(size));
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/recipes/public/export
+     * Exporta todas as receitas públicas em NDJSON (streaming)
+     * Com "Accept-Encoding: gzip" a resposta sai comprimida
+     */
+    @GetMapping("/public/export")
+    public void exportPublicRecipes(
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response) throws IOException {
+        try (OutputStream output = openExportStream(response, "recipes-public", acceptEncoding)) {
+            recipeExportService.exportPublicRecipes(output);
+        }
+    }
+
+    /**
+     * GET /api/recipes/my/export
+     * Exporta as receitas do usuário autenticado em NDJSON (streaming)
+     */
+    @GetMapping("/my/export")
+    public void exportMyRecipes(
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+        HttpServletResponse response) throws IOException {
+        try (OutputStream output = openExportStream(response, "recipes-my", acceptEncoding)) {
+            recipeExportService.exportMyRecipes(output);
+        }
+    }
+
     /**
      * GET /api/recipes/search/public
      * Busca receitas públicas por palavra-chave
-     * Query params: q (keyword), page (default 0), size (default 20)
+     * Query params: q (keyword), page (default 0), size (default 20), sort (recent | relevance)
      */
     @GetMapping("/search/public")
     public ResponseEntity<Page<RecipeResponse>> searchPublicRecipes(
         @RequestParam String q,
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "20") int size) {
-        Page<RecipeResponse> recipes = recipeService.searchPublicRecipes(q, page, size);
-        return ResponseEntity.ok(recipes);
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "recent") String sort) {
+        try {
+            Page<RecipeResponse> recipes = recipeService.searchPublicRecipes(q, page, pageSize(size), SearchSort.from(sort));
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/recipes/search/public?mode=slice
+     * Busca receitas públicas sem contagem total
+     * Query params: q (keyword), page (default 0), size (default 20), sort (recent | relevance),
+     * approximateTotal (default false; estimativa do planejador do banco)
+     */
+    @GetMapping(value = "/search/public", params = "mode=slice")
+    public ResponseEntity<SliceResponse<RecipeResponse>> searchPublicRecipesSlice(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "recent") String sort,
+        @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        try {
+            SliceResponse<RecipeResponse> recipes =
+                recipeService.searchPublicRecipesSlice(q, page, pageSize(size), SearchSort.from(sort), approximateTotal);
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * GET /api/recipes/search/typeahead
+     * Autocomplete: títulos públicos que começam com q, servidos do índice em memória
+     * Query params: q (prefixo, sem diferenciar acentos e maiúsculas), limit (default 10)
+     */
+    @GetMapping("/search/typeahead")
+    public ResponseEntity<List<TitleSuggestion>> suggestTitles(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(typeaheadMaxAge).cachePublic())
+            .body(recipeTitleIndex.suggest(q, limit));
     }
 
     /**
      * GET /api/recipes/search/my
      * Busca nas receitas do usuário autenticado
-     * Query params: q (keyword), page (default 0), size (default 20)
+     * Query params: q (keyword), page (default 0), size (default 20), sort (recent | relevance)
      */
     @GetMapping("/search/my")
     public ResponseEntity<Page<RecipeResponse>> searchMyRecipes(
         @RequestParam String q,
         @RequestParam(defaultValue = "0") int page,
-        @RequestParam(defaultValue = "20") int size) {
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "recent") String sort) {
+        SearchSort searchSort;
         try {
-            Page<RecipeResponse> recipes = recipeService.searchMyRecipes(q, page, size);
+            searchSort = SearchSort.from(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Page<RecipeResponse> recipes = recipeService.searchMyRecipes(q, page, pageSize(size), searchSort);
+            return ResponseEntity.ok(recipes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    /**
+     * GET /api/recipes/search/my?mode=slice
+     * Busca nas receitas do usuário autenticado sem contagem total
+     * Query params: q (keyword), page (default 0), size (default 20), sort (recent | relevance),
+     * approximateTotal (default false; estimativa do planejador do banco)
+     */
+    @GetMapping(value = "/search/my", params = "mode=slice")
+    public ResponseEntity<SliceResponse<RecipeResponse>> searchMyRecipesSlice(
+        @RequestParam String q,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "recent") String sort,
+        @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        SearchSort searchSort;
+        try {
+            searchSort = SearchSort.from(sort);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            SliceResponse<RecipeResponse> recipes =
+                recipeService.searchMyRecipesSlice(q, page, pageSize(size), searchSort, approximateTotal);
             return ResponseEntity.ok(recipes);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
@@ -154,17 +424,53 @@ public class RecipeController {
     /**
      * GET /api/recipes/public/unique/{uniqueId}
      * Busca receita por uniqueId (compartilhamento)
+     * Suporta If-None-Match / If-Modified-Since (304 sem carregar a receita)
      */
     @GetMapping("/public/unique/{uniqueId}")
-    public ResponseEntity<RecipeResponse> getRecipeByUniqueId(@PathVariable String uniqueId) {
+    public ResponseEntity<RecipeResponse> getRecipeByUniqueId(@PathVariable String uniqueId, WebRequest webRequest) {
         try {
+            if (isConditional(webRequest)) {
+                RecipeVersion version = recipeService.getRecipeVersionByUniqueId(uniqueId);
+                if (isNotModified(webRequest, version)) {
+                    return notModified(version.isPrivate());
+                }
+            }
             RecipeResponse response = recipeService.getRecipeByUniqueId(uniqueId);
-            return ResponseEntity.ok(response);
+            return okWithValidators(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * GET /api/recipes/public/batch?uniqueIds=a,b,c (ou ?ids=1,2,3)
+     * Resolve várias receitas numa só chamada (coleções compartilhadas), até recipes.batch.max-items.
+     * Itens na ordem pedida; found=false para inexistente ou privada de outro autor
+     */
+    @GetMapping("/public/batch")
+    public ResponseEntity<List<RecipeBatchItem>> getRecipesBatch(
+        @RequestParam(required = false) List<String> uniqueIds,
+        @RequestParam(required = false) List<Long> ids) {
+        if ((uniqueIds == null) == (ids == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int requested = uniqueIds != null ? uniqueIds.size() : ids.size();
+        if (requested > batchMaxItems) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<RecipeBatchItem> items = uniqueIds != null
+            ? recipeService.getRecipesByUniqueIds(uniqueIds)
+            : recipeService.getRecipesByIds(ids);
+
+        // Cache compartilhado só se a resposta é a mesma para qualquer um: tudo encontrado e público
+        // (um item privado ausente pode existir para o autor)
+        boolean shared = items.stream().allMatch(item -> item.found() && !item.recipe().getIsPrivate());
+        return ResponseEntity.ok()
+            .cacheControl(recipeCacheControl(!shared))
+            .body(items);
+    }
+
     /**
      * GET /api/recipes/my/stats
      * Retorna estatísticas do usuário
@@ -180,4 +486,108 @@ public class RecipeController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
+
+    // ===== REQUISIÇÕES CONDICIONAIS =====
+
+    /**
+     * size abaixo de 1 é rejeitado (400); acima de recipes.pagination.max-size, limitado ao teto
+     */
+    private int pageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size deve ser maior que zero");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    private static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+            || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static boolean isNotModified(WebRequest webRequest, RecipeVersion version) {
+        return webRequest.checkNotModified(
+            recipeETag(version.id(), version.lastModified()), epochMillis(version.lastModified()));
+    }
+
+    private <T> ResponseEntity<T> notModified(boolean isPrivate) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(recipeCacheControl(isPrivate)).build();
+    }
+
+    private ResponseEntity<RecipeResponse> okWithValidators(RecipeResponse recipe) {
+        LocalDateTime lastModified = recipe.getUpdatedAt() != null ? recipe.getUpdatedAt() : recipe.getCreatedAt();
+        return ResponseEntity.ok()
+            .cacheControl(recipeCacheControl(recipe.getIsPrivate()))
+            .eTag(recipeETag(recipe.getId(), lastModified))
+            .lastModified(epochMillis(lastModified))
+            .body(recipe);
+    }
+
+    // Receita privada: só o navegador do dono guarda, e sempre revalida; pública: cache compartilhado
+    private CacheControl recipeCacheControl(boolean isPrivate) {
+        return isPrivate
+            ? CacheControl.noCache().cachePrivate()
+            : CacheControl.maxAge(recipeMaxAge).cachePublic();
+    }
+
+    // Fraco: o corpo também traz o username do autor, que não altera updatedAt
+    private static String recipeETag(Long id, LocalDateTime lastModified) {
+        return "W/\"recipe-" + id + "-" + epochMillis(lastModified) + "\"";
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private OutputStream openExportStream(HttpServletResponse response, String fileName, String acceptEncoding)
+        throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + ".ndjson\"");
+
+        // A resposta varia com o header mesmo quando sai sem compressão
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+        }
+        return response.getOutputStream();
+    }
+
+    /**
+     * Accept-Encoding com pesos (RFC 9110, 12.5.3): gzip vale se listado com q > 0,
+     * ou, sem menção a gzip, se "*" tiver q > 0. "gzip;q=0" recusa explicitamente.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzipWeight = null;
+        Double wildcardWeight = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double weight = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                    try {
+                        weight = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        // Peso ilegível: o elemento é ignorado
+                        weight = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipWeight = gzipWeight == null ? weight : Math.max(gzipWeight, weight);
+            } else if (coding.equals("*")) {
+                wildcardWeight = weight;
+            }
+        }
+        if (gzipWeight != null) {
+            return gzipWeight > 0;
+        }
+        return wildcardWeight != null && wildcardWeight > 0;
+    }
 }
\ No newline at end of file
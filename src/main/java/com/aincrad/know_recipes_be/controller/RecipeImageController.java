@@ -0,0 +1,185 @@
+package com.aincrad.know_recipes_be.controller;
+
+import com.aincrad.know_recipes_be.dto.RecipeImageResponse;
+import com.aincrad.know_recipes_be.exception.InvalidImageException;
+import com.aincrad.know_recipes_be.exception.RecipeNotFoundException;
+import com.aincrad.know_recipes_be.service.image.RecipeImageService;
+import com.aincrad.know_recipes_be.service.image.RecipeImageStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class RecipeImageController {
+
+    private static final String IMAGES_PATH = "/api/images/";
+
+    // Atributos do sendfile do Tomcat: o conector envia o arquivo com FileChannel.transferTo
+    // direto para o socket (sendfile do kernel), sem passar pelo heap nem pela thread da requisição
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Mesmo limiar do DefaultServlet do Tomcat: abaixo disso a cópia direta sai mais barata
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    // Arquivos nunca mudam (nova imagem = novo imageId)
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final RecipeImageService recipeImageService;
+    private final RecipeImageStorage imageStorage;
+
+    /**
+     * POST /api/recipes/{id}/image
+     * Envia a imagem da receita (multipart, campo "file"; requer ser o autor).
+     * Responde 202: as miniaturas são geradas em segundo plano
+     */
+    @PostMapping(value = "/api/recipes/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<RecipeImageResponse> uploadImage(
+        @PathVariable Long id,
+        @RequestParam("file") MultipartFile file) throws IOException {
+        try {
+            String imagesBaseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().path(IMAGES_PATH).toUriString();
+            RecipeImageResponse response = recipeImageService.upload(id, file, imagesBaseUrl);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (InvalidImageException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RecipeNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+    }
+
+    /**
+     * GET /api/images/{imageId}/{fileName}
+     * Original ou miniatura (small.jpg, medium.jpg) - público.
+     * Suporta Range (um intervalo), If-Range, If-None-Match e HEAD
+     */
+    @GetMapping(IMAGES_PATH + "{imageId}/{fileName}")
+    public void getImage(
+        @PathVariable String imageId,
+        @PathVariable String fileName,
+        HttpServletRequest request,
+        HttpServletResponse response) throws IOException {
+
+        Path file = imageStorage.resolve(imageId, fileName).orElse(null);
+        BasicFileAttributes attributes = file != null ? readAttributes(file) : null;
+        if (attributes == null || !attributes.isRegularFile()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        long length = attributes.size();
+        String eTag = "\"" + imageId + "-" + fileName + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE.getHeaderValue());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, attributes.lastModifiedTime().toMillis())) {
+            return;
+        }
+
+        long start = 0;
+        long count = length;
+        HttpRange range = requestedRange(request, eTag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            count = range.getRangeEnd(length) - start + 1;
+            if (start >= length || count <= 0) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (start + count - 1) + "/" + length);
+        }
+        response.setContentType(imageStorage.contentType(fileName));
+        response.setContentLengthLong(count);
+
+        if (!"HEAD".equals(request.getMethod())) {
+            transfer(request, response, file, start, count);
+        }
+    }
+
+    /**
+     * Um único intervalo; If-Range diferente do ETag, múltiplos intervalos ou
+     * cabeçalho inválido resultam no arquivo inteiro (permitido pela RFC 9110)
+     */
+    private static HttpRange requestedRange(HttpServletRequest request, String eTag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(eTag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void transfer(
+        HttpServletRequest request, HttpServletResponse response, Path file, long start, long count) throws IOException {
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        // Sem sendfile (outro contêiner ou arquivo pequeno): transferTo do canal do arquivo
+        // para o canal da resposta, sem buffer intermediário no código da aplicação
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, output);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) throws IOException {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
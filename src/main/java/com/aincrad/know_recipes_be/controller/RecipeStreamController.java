@@ -0,0 +1,42 @@
+package com.aincrad.know_recipes_be.controller;
+
+import com.aincrad.know_recipes_be.service.stream.RecipeEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/recipes/public")
+@RequiredArgsConstructor
+public class RecipeStreamController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final RecipeEventStream recipeEventStream;
+
+    /**
+     * GET /api/recipes/public/stream
+     * Server-Sent Events das receitas públicas criadas (recipe.created), alteradas
+     * (recipe.updated) e que saíram do catálogo público (recipe.removed).
+     * O EventSource reconecta sozinho com Last-Event-ID e recebe o que perdeu;
+     * "reset" indica que não dá para retomar e o feed deve ser recarregado
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return recipeEventStream.subscribe(lastEventId)
+            .map(emitter -> ResponseEntity.ok()
+                // nginx não deve segurar os eventos no buffer do proxy
+                .header("X-Accel-Buffering", "no")
+                .body(emitter))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build());
+    }
+}
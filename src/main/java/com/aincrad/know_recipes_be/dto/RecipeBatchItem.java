@@ -0,0 +1,12 @@
+package com.aincrad.know_recipes_be.dto;
+
+/**
+ * Item da busca em lote, na posição em que foi pedido. key é o id ou uniqueId pedido;
+ * found=false (sem recipe) para receita inexistente ou privada de outro autor
+ */
+public record RecipeBatchItem(String key, boolean found, RecipeResponse recipe) {
+
+    public static RecipeBatchItem of(String key, RecipeResponse recipe) {
+        return new RecipeBatchItem(key, recipe != null, recipe);
+    }
+}
@@ -0,0 +1,39 @@
+package com.aincrad.know_recipes_be.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição (createdAt, id) da última receita entregue em uma listagem por cursor.
+ * Trafega para o cliente como uma string opaca (Base64 URL-safe).
+ */
+public record RecipeCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido; vazio ou nulo representa a primeira página.
+     */
+    public static RecipeCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new RecipeCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.aincrad.know_recipes_be.dto;
+
+import com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus;
+
+/**
+ * Resultado do upload: a imagem original já é servida em imageUrl; as miniaturas
+ * aparecem em RecipeResponse.thumbnails quando o status passa a READY.
+ */
+public record RecipeImageResponse(Long recipeId, String imageUrl, RecipeImageStatus imageStatus) {
+}
@@ -0,0 +1,32 @@
+package com.aincrad.know_recipes_be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeImportResponse {
+
+    private int received;
+    private int imported;
+    private int failed;
+    private List<ItemError> errors;
+
+    /**
+     * Preenchido quando a importação parou no meio por falha do banco; os lotes
+     * anteriores (imported) ficaram gravados e os itens seguintes não foram lidos
+     */
+    private String abortReason;
+
+    /**
+     * Erro de um item da importação; index é a posição (base 0) no array ou linha do NDJSON
+     */
+    public record ItemError(int index, List<String> messages) {
+    }
+}
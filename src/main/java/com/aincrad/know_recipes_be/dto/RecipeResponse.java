@@ -1,5 +1,6 @@
 package com.aincrad.know_recipes_be.dto;
 
+import com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,10 +19,30 @@ public class RecipeResponse {
     private String title;
     private String description;
     private String imageUrl;
+
+    // Miniaturas da imagem enviada (null enquanto não geradas ou com imagem externa)
+    private ThumbnailUrls thumbnails;
+
     private Boolean isPrivate;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String authorUsername;
     private Long authorId;
 
+    // Trecho com os termos buscados destacados (<mark>); preenchido apenas na busca.
+    // Único campo com marcação: o texto vem escapado e só contém <mark>/</mark>.
+    // Os demais campos (title, description...) são texto puro e devem ser escapados pelo cliente.
+    private String headline;
+
+    /**
+     * Usado pelas projeções JPQL (SELECT new ...) do RecipeRepository
+     */
+    public RecipeResponse(Long id, String uniqueId, String title, String description, String imageUrl,
+                          String imageId, RecipeImageStatus imageStatus,
+                          Boolean isPrivate, LocalDateTime createdAt, LocalDateTime updatedAt,
+                          String authorUsername, Long authorId) {
+        this(id, uniqueId, title, description, imageUrl, ThumbnailUrls.of(imageUrl, imageId, imageStatus),
+            isPrivate, createdAt, updatedAt, authorUsername, authorId, null);
+    }
+
 }
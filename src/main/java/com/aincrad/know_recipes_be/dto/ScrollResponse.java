@@ -0,0 +1,19 @@
+package com.aincrad.know_recipes_be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScrollResponse<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+}
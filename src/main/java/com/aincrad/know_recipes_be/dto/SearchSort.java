@@ -0,0 +1,21 @@
+package com.aincrad.know_recipes_be.dto;
+
+/**
+ * Ordenação dos resultados de busca.
+ */
+public enum SearchSort {
+
+    RECENT,
+    RELEVANCE;
+
+    public static SearchSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return RECENT;
+        }
+        try {
+            return SearchSort.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ordenação inválida: " + value);
+        }
+    }
+}
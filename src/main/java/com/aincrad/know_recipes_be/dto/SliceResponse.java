@@ -0,0 +1,25 @@
+package com.aincrad.know_recipes_be.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página sem COUNT(*): apenas os itens e se existe próxima página.
+ * approximateTotal só vem preenchido quando solicitado, e é uma estimativa.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SliceResponse<T> {
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private Long approximateTotal;
+}
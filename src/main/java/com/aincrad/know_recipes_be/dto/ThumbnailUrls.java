@@ -0,0 +1,28 @@
+package com.aincrad.know_recipes_be.dto;
+
+import com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus;
+
+/**
+ * URLs das miniaturas de uma imagem enviada. Ficam ao lado da original
+ * (mesma base da imageUrl gravada no upload): .../api/images/{imageId}/small.jpg
+ */
+public record ThumbnailUrls(String small, String medium) {
+
+    public static final String SMALL_FILE = "small.jpg";
+    public static final String MEDIUM_FILE = "medium.jpg";
+
+    /**
+     * @return null enquanto as miniaturas não estão prontas ou sem imagem local
+     */
+    public static ThumbnailUrls of(String imageUrl, String imageId, RecipeImageStatus status) {
+        if (status != RecipeImageStatus.READY || imageUrl == null || imageId == null) {
+            return null;
+        }
+        int fileStart = imageUrl.lastIndexOf('/') + 1;
+        if (fileStart == 0 || !imageUrl.startsWith(imageId + "/", fileStart - imageId.length() - 1)) {
+            return null;
+        }
+        String base = imageUrl.substring(0, fileStart);
+        return new ThumbnailUrls(base + SMALL_FILE, base + MEDIUM_FILE);
+    }
+}
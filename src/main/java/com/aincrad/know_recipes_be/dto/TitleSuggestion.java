@@ -0,0 +1,8 @@
+package com.aincrad.know_recipes_be.dto;
+
+/**
+ * Sugestão do autocomplete: título público e a receita que o tem
+ * (a de menor id, quando vários títulos coincidem)
+ */
+public record TitleSuggestion(Long id, String title) {
+}
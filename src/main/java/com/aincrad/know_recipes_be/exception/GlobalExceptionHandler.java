@@ -1,10 +1,14 @@
 package com.aincrad.know_recipes_be.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.time.Instant;
 
@@ -49,4 +53,95 @@ public class GlobalExceptionHandler {
             .body(response);
     }
 
+    /**
+     * Sem conexão com o banco a tempo (pool esgotado ou fila do limitador de conexões
+     * cheia): a requisição pode ser repetida, então 503 em vez de 500
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ApiErrorResponse> handleDatabaseUnavailable(
+        Exception ex,
+        HttpServletRequest request
+    ) {
+
+        ApiErrorResponse response = new ApiErrorResponse(
+            Instant.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Serviço indisponível",
+            "Servidor sobrecarregado. Tente novamente em instantes.",
+            request.getRequestURI()
+        );
+
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(response);
+    }
+
+    /**
+     * Pool de hash de senha saturado (rajada de logins/cadastros): 429 para o
+     * cliente repetir mais tarde, sem afetar o restante da API
+     */
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<ApiErrorResponse> handlePasswordHashingRejected(
+        PasswordHashingRejectedException ex,
+        HttpServletRequest request
+    ) {
+
+        ApiErrorResponse response = new ApiErrorResponse(
+            Instant.now(),
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Muitas requisições",
+            "Muitas tentativas de autenticação no momento. Tente novamente em instantes.",
+            request.getRequestURI()
+        );
+
+        return ResponseEntity
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+            .body(response);
+    }
+
+    /**
+     * Token de um usuário removido: o cliente precisa autenticar de novo
+     */
+    @ExceptionHandler(UnknownUserException.class)
+    public ResponseEntity<ApiErrorResponse> handleUnknownUser(
+        UnknownUserException ex,
+        HttpServletRequest request
+    ) {
+
+        ApiErrorResponse response = new ApiErrorResponse(
+            Instant.now(),
+            HttpStatus.UNAUTHORIZED.value(),
+            "Não autorizado",
+            ex.getMessage(),
+            request.getRequestURI()
+        );
+
+        return ResponseEntity
+            .status(HttpStatus.UNAUTHORIZED)
+            .body(response);
+    }
+
+    /**
+     * Upload maior que spring.servlet.multipart.max-file-size
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ApiErrorResponse> handleMaxUploadSizeExceeded(
+        MaxUploadSizeExceededException ex,
+        HttpServletRequest request
+    ) {
+
+        ApiErrorResponse response = new ApiErrorResponse(
+            Instant.now(),
+            HttpStatus.CONTENT_TOO_LARGE.value(),
+            "Arquivo muito grande",
+            "O arquivo excede o tamanho máximo permitido.",
+            request.getRequestURI()
+        );
+
+        return ResponseEntity
+            .status(HttpStatus.CONTENT_TOO_LARGE)
+            .body(response);
+    }
 }
@@ -0,0 +1,10 @@
+package com.aincrad.know_recipes_be.exception;
+
+/**
+ * Upload que não é uma imagem suportada (JPEG, PNG, GIF) ou excede as dimensões permitidas
+ */
+public class InvalidImageException extends RuntimeException {
+    public InvalidImageException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.aincrad.know_recipes_be.exception;
+
+import java.time.Duration;
+
+/**
+ * Pool de hash de senha saturado: a requisição de login/cadastro é recusada
+ * (429) em vez de disputar CPU com o restante da API.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
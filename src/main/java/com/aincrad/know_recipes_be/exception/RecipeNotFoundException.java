@@ -0,0 +1,12 @@
+package com.aincrad.know_recipes_be.exception;
+
+/**
+ * Receita inexistente numa operação que também recusa quem não é o autor:
+ * permite responder 404 aqui e 403 para o IllegalArgumentException de permissão.
+ */
+public class RecipeNotFoundException extends IllegalArgumentException {
+
+    public RecipeNotFoundException(String message) {
+        super(message);
+    }
+}
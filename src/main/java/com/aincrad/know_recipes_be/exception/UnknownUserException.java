@@ -0,0 +1,13 @@
+package com.aincrad.know_recipes_be.exception;
+
+/**
+ * Token ainda válido de um usuário que não existe mais em TB_USERS:
+ * a escrita é recusada com 401 (o cliente deve autenticar de novo)
+ * em vez de falhar na chave estrangeira.
+ */
+public class UnknownUserException extends RuntimeException {
+
+    public UnknownUserException(String message) {
+        super(message);
+    }
+}
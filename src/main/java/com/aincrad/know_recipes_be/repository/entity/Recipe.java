@@ -4,28 +4,40 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "TB_RECIPES")
+// Cache de segundo nível (regiões e TTLs em recipes.entity-cache)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Recipe.CACHE_REGION)
+@NaturalIdCache(region = Recipe.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Recipe {
 
+    public static final String CACHE_REGION = "recipe";
+    public static final String NATURAL_ID_CACHE_REGION = "recipe-unique-id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipe_seq")
     @SequenceGenerator(
         name = "recipe_seq",
         sequenceName = "SEQ_TB_RECIPES",
-        allocationSize = 1
+        allocationSize = 50
     )
     private Long id;
 
 
+    // Link de compartilhamento: RecipeRepository.findByUniqueId resolve pelo cache de natural id
+    @NaturalId
     @Column(name = "unique_id", unique = true, nullable = false, updatable = false)
     private String uniqueId;
 
@@ -38,6 +50,14 @@ public class Recipe {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    // Imagem armazenada localmente (upload); null quando imageUrl aponta para fora
+    @Column(name = "image_id", length = 32)
+    private String imageId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status", length = 16)
+    private RecipeImageStatus imageStatus;
+
     @Column(name = "is_private", nullable = false)
     private Boolean isPrivate = false;
 
@@ -0,0 +1,10 @@
+package com.aincrad.know_recipes_be.repository.entity;
+
+/**
+ * Estado das miniaturas de uma imagem enviada (TB_RECIPES.IMAGE_STATUS)
+ */
+public enum RecipeImageStatus {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -11,17 +11,27 @@ import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "TB_USERS")
+// Cache de segundo nível (regiões e TTLs em recipes.entity-cache)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
 
+    public static final String CACHE_REGION = "user";
+    public static final String NATURAL_ID_CACHE_REGION = "user-email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
     @SequenceGenerator(
@@ -34,6 +44,8 @@ public class User {
     @Column(unique = true, nullable = false, length = 50)
     private String username;
 
+    // Login: UserRepository.findByEmail resolve pelo cache de natural id
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false, length = 100)
     private String email;
 
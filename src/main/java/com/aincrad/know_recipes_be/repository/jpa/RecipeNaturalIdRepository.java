@@ -0,0 +1,15 @@
+package com.aincrad.know_recipes_be.repository.jpa;
+
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+
+import java.util.Optional;
+
+/**
+ * Busca de Recipe pelo natural id (uniqueId). Uma consulta derivada iria sempre ao
+ * banco; a carga por natural id passa pelos caches de segundo nível
+ * (uniqueId → id e id → receita)
+ */
+public interface RecipeNaturalIdRepository {
+
+    Optional<Recipe> findByUniqueId(String uniqueId);
+}
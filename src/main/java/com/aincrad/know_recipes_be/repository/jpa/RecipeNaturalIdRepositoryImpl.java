@@ -0,0 +1,21 @@
+package com.aincrad.know_recipes_be.repository.jpa;
+
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class RecipeNaturalIdRepositoryImpl implements RecipeNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Recipe> findByUniqueId(String uniqueId) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Recipe.class)
+            .loadOptional(uniqueId);
+    }
+}
@@ -1,42 +1,192 @@
 package com.aincrad.know_recipes_be.repository.jpa;
 
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
 import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.projection.PendingImage;
+import com.aincrad.know_recipes_be.repository.projection.RecipeSearchHit;
+import com.aincrad.know_recipes_be.repository.projection.RecipeTitle;
+import com.aincrad.know_recipes_be.repository.projection.RecipeVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
+// findByUniqueId vem de RecipeNaturalIdRepository (cache de natural id)
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeNaturalIdRepository {
 
-    // Buscar por uniqueId
-    Optional<Recipe> findByUniqueId(String uniqueId);
+    // Projeção direta em RecipeResponse com o autor no mesmo SELECT (sem N+1 em TB_USERS)
+    String RECIPE_VIEW = "SELECT new com.aincrad.know_recipes_be.dto.RecipeResponse("
+        + "r.id, r.uniqueId, r.title, r.description, r.imageUrl, r.imageId, r.imageStatus, "
+        + "r.isPrivate, r.createdAt, r.updatedAt, u.username, u.id) "
+        + "FROM Recipe r JOIN r.user u ";
+
+    // Versão da receita para requisições condicionais (If-None-Match / If-Modified-Since)
+    String RECIPE_VERSION = "SELECT new com.aincrad.know_recipes_be.repository.projection.RecipeVersion("
+        + "r.id, r.isPrivate, COALESCE(r.updatedAt, r.createdAt), r.user.id) FROM Recipe r ";
+
+    // Cache de consultas das versões: revalidações de receitas populares (If-None-Match)
+    // não vão ao banco. O Hibernate descarta o resultado em qualquer escrita em TB_RECIPES
+    String VERSION_CACHE_REGION = "recipe-version";
+
+    @Query(RECIPE_VERSION + "WHERE r.id = :id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = VERSION_CACHE_REGION)
+    })
+    Optional<RecipeVersion> findVersionById(@Param("id") Long id);
+
+    @Query(RECIPE_VERSION + "WHERE r.uniqueId = :uniqueId")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = VERSION_CACHE_REGION)
+    })
+    Optional<RecipeVersion> findVersionByUniqueId(@Param("uniqueId") String uniqueId);
 
     // Receitas públicas com paginação
-    Page<Recipe> findByIsPrivateFalseOrderByCreatedAtDesc(Pageable pageable);
+    @Query(
+        value = RECIPE_VIEW + "WHERE r.isPrivate = false ORDER BY r.createdAt DESC",
+        countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.isPrivate = false")
+    Page<RecipeResponse> findPublicRecipeViews(Pageable pageable);
 
     // Receitas de um usuário específico
-    Page<Recipe> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query(
+        value = RECIPE_VIEW + "WHERE u.id = :userId ORDER BY r.createdAt DESC",
+        countQuery = "SELECT COUNT(r) FROM Recipe r WHERE r.user.id = :userId")
+    Page<RecipeResponse> findUserRecipeViews(@Param("userId") Long userId, Pageable pageable);
+
+    // Slice: mesma listagem sem COUNT(*), busca size + 1 linhas para saber se há próxima página
+    @Query(RECIPE_VIEW + "WHERE r.isPrivate = false ORDER BY r.createdAt DESC")
+    Slice<RecipeResponse> slicePublicRecipeViews(Pageable pageable);
+
+    @Query(RECIPE_VIEW + "WHERE u.id = :userId ORDER BY r.createdAt DESC")
+    Slice<RecipeResponse> sliceUserRecipeViews(@Param("userId") Long userId, Pageable pageable);
+
+    // Keyset: primeira página das receitas públicas
+    @Query(RECIPE_VIEW + "WHERE r.isPrivate = false ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeResponse> findPublicRecipesFirst(Limit limit);
+
+    // Keyset: receitas públicas depois do cursor (createdAt, id)
+    @Query(RECIPE_VIEW + "WHERE r.isPrivate = false AND r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeResponse> findPublicRecipesAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Keyset: primeira página das receitas de um usuário
+    @Query(RECIPE_VIEW + "WHERE u.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeResponse> findUserRecipesFirst(@Param("userId") Long userId, Limit limit);
+
+    // Keyset: receitas de um usuário depois do cursor (createdAt, id)
+    @Query(RECIPE_VIEW + "WHERE u.id = :userId AND r.createdAt <= :createdAt AND (r.createdAt < :createdAt OR r.id < :id) ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeResponse> findUserRecipesAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    // Carga do índice de títulos (typeahead): só id e título, por cursor
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.aincrad.know_recipes_be.repository.projection.RecipeTitle(r.id, r.title) "
+        + "FROM Recipe r WHERE r.isPrivate = false")
+    Stream<RecipeTitle> streamPublicTitles();
 
     // Busca por título (case-insensitive) - apenas públicas
     @Query("SELECT r FROM Recipe r WHERE LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%')) AND r.isPrivate = false ORDER BY r.createdAt DESC")
     Page<Recipe> searchPublicRecipesByTitle(@Param("keyword") String keyword, Pageable pageable);
 
-    // Busca por título ou descrição (case-insensitive) - apenas públicas
-    @Query("SELECT r FROM Recipe r WHERE (LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR LOWER(r.description) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND r.isPrivate = false ORDER BY r.createdAt DESC")
-    Page<Recipe> searchPublicRecipes(@Param("keyword") String keyword, Pageable pageable);
+    // Busca textual (tsvector + GIN) - colunas comuns às consultas de busca
+    // O headline sai com marcadores em texto (RecipeSearchHit.HEADLINE_START/STOP), não com HTML:
+    // título e descrição são escapados antes de os marcadores virarem <mark>
+    String SEARCH_SELECT = """
+        SELECT r.id AS "id", r.unique_id AS "uniqueId", r.title AS "title", r.description AS "description",
+               r.image_url AS "imageUrl", r.image_id AS "imageId", r.image_status AS "imageStatus",
+               r.is_private AS "isPrivate", r.created_at AS "createdAt",
+               r.updated_at AS "updatedAt", u.username AS "authorUsername", u.id AS "authorId",
+               ts_headline('portuguese_unaccent', r.title || '. ' || COALESCE(r.description, ''), q,
+                           'StartSel=@@hl@@, StopSel=@@/hl@@, MaxWords=35, MinWords=15') AS "headline"
+        FROM tb_recipes r
+        JOIN tb_users u ON u.id = r.user_id
+        CROSS JOIN to_tsquery('portuguese_unaccent', :query) q
+        """;
+
+    String PUBLIC_SEARCH_WHERE = " WHERE r.is_private = false AND r.search_vector @@ q ";
+
+    String USER_SEARCH_WHERE = " WHERE r.user_id = :userId AND r.search_vector @@ q ";
 
-    // Buscar receitas de um usuário por título
-    @Query("SELECT r FROM Recipe r WHERE r.user.id = :userId AND LOWER(r.title) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY r.createdAt DESC")
-    Page<Recipe> searchUserRecipes(@Param("userId") Long userId, @Param("keyword") String keyword, Pageable pageable);
+    // Busca textual - apenas públicas, mais recentes primeiro
+    @Query(
+        value = SEARCH_SELECT + PUBLIC_SEARCH_WHERE + "ORDER BY r.created_at DESC, r.id DESC",
+        countQuery = "SELECT COUNT(*) FROM tb_recipes r WHERE r.is_private = false AND r.search_vector @@ to_tsquery('portuguese_unaccent', :query)",
+        nativeQuery = true)
+    Page<RecipeSearchHit> searchPublicRecipes(@Param("query") String query, Pageable pageable);
+
+    // Busca textual - apenas públicas, mais relevantes primeiro
+    @Query(
+        value = SEARCH_SELECT + PUBLIC_SEARCH_WHERE + "ORDER BY ts_rank_cd(r.search_vector, q) DESC, r.created_at DESC, r.id DESC",
+        countQuery = "SELECT COUNT(*) FROM tb_recipes r WHERE r.is_private = false AND r.search_vector @@ to_tsquery('portuguese_unaccent', :query)",
+        nativeQuery = true)
+    Page<RecipeSearchHit> searchPublicRecipesByRelevance(@Param("query") String query, Pageable pageable);
+
+    // Busca textual nas receitas de um usuário, mais recentes primeiro
+    @Query(
+        value = SEARCH_SELECT + USER_SEARCH_WHERE + "ORDER BY r.created_at DESC, r.id DESC",
+        countQuery = "SELECT COUNT(*) FROM tb_recipes r WHERE r.user_id = :userId AND r.search_vector @@ to_tsquery('portuguese_unaccent', :query)",
+        nativeQuery = true)
+    Page<RecipeSearchHit> searchUserRecipes(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
+
+    // Busca textual nas receitas de um usuário, mais relevantes primeiro
+    @Query(
+        value = SEARCH_SELECT + USER_SEARCH_WHERE + "ORDER BY ts_rank_cd(r.search_vector, q) DESC, r.created_at DESC, r.id DESC",
+        countQuery = "SELECT COUNT(*) FROM tb_recipes r WHERE r.user_id = :userId AND r.search_vector @@ to_tsquery('portuguese_unaccent', :query)",
+        nativeQuery = true)
+    Page<RecipeSearchHit> searchUserRecipesByRelevance(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
+
+    // Busca textual sem COUNT(*) (Slice) - mesmas consultas acima
+    @Query(value = SEARCH_SELECT + PUBLIC_SEARCH_WHERE + "ORDER BY r.created_at DESC, r.id DESC", nativeQuery = true)
+    Slice<RecipeSearchHit> sliceSearchPublicRecipes(@Param("query") String query, Pageable pageable);
+
+    @Query(value = SEARCH_SELECT + PUBLIC_SEARCH_WHERE + "ORDER BY ts_rank_cd(r.search_vector, q) DESC, r.created_at DESC, r.id DESC", nativeQuery = true)
+    Slice<RecipeSearchHit> sliceSearchPublicRecipesByRelevance(@Param("query") String query, Pageable pageable);
+
+    @Query(value = SEARCH_SELECT + USER_SEARCH_WHERE + "ORDER BY r.created_at DESC, r.id DESC", nativeQuery = true)
+    Slice<RecipeSearchHit> sliceSearchUserRecipes(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
+
+    @Query(value = SEARCH_SELECT + USER_SEARCH_WHERE + "ORDER BY ts_rank_cd(r.search_vector, q) DESC, r.created_at DESC, r.id DESC", nativeQuery = true)
+    Slice<RecipeSearchHit> sliceSearchUserRecipesByRelevance(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
 
     // Receitas recentes (últimas N receitas públicas)
-    List<Recipe> findTop10ByIsPrivateFalseOrderByCreatedAtDesc();
+    @Query(RECIPE_VIEW + "WHERE r.isPrivate = false ORDER BY r.createdAt DESC, r.id DESC")
+    List<RecipeResponse> findRecentPublicRecipeViews(Limit limit);
+
+    // Busca em lote (coleções compartilhadas): receita e autor num único SELECT; a visibilidade é aplicada no serviço
+    @Query(RECIPE_VIEW + "WHERE r.uniqueId IN :uniqueIds")
+    List<RecipeResponse> findRecipeViewsByUniqueIds(@Param("uniqueIds") Collection<String> uniqueIds);
+
+    @Query(RECIPE_VIEW + "WHERE r.id IN :ids")
+    List<RecipeResponse> findRecipeViewsByIds(@Param("ids") Collection<Long> ids);
+
+    // Receitas públicas de um lote de escritas (stream de novidades), num único SELECT
+    @Query(RECIPE_VIEW + "WHERE r.id IN :ids AND r.isPrivate = false")
+    List<RecipeResponse> findPublicRecipeViewsByIds(@Param("ids") Collection<Long> ids);
+
+    // Imagens com miniaturas ainda por gerar (retomadas na inicialização), em páginas por id
+    @Query("SELECT new com.aincrad.know_recipes_be.repository.projection.PendingImage(r.id, r.imageId) "
+        + "FROM Recipe r WHERE r.imageStatus = com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus.PENDING "
+        + "AND r.id > :afterId ORDER BY r.id")
+    List<PendingImage> findPendingImagesAfter(@Param("afterId") Long afterId, Limit limit);
 
     // Contar receitas de um usuário
     Long countByUserId(Long userId);
 
+    // Contar receitas públicas
+    long countByIsPrivateFalse();
+
 }
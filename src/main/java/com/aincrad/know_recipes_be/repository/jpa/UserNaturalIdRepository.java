@@ -0,0 +1,14 @@
+package com.aincrad.know_recipes_be.repository.jpa;
+
+import com.aincrad.know_recipes_be.repository.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Busca de User pelo natural id (email), via caches de segundo nível: logins
+ * repetidos do mesmo usuário não vão ao banco
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,21 @@
+package com.aincrad.know_recipes_be.repository.jpa;
+
+import com.aincrad.know_recipes_be.repository.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(User.class)
+            .loadOptional(email);
+    }
+}
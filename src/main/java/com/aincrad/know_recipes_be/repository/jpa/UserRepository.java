@@ -5,9 +5,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByEmail(String email);
+// findByEmail vem de UserNaturalIdRepository (cache de natural id)
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     Optional<User> findByUsername(String username);
 
@@ -0,0 +1,7 @@
+package com.aincrad.know_recipes_be.repository.projection;
+
+/**
+ * Imagem enviada cujas miniaturas ainda não foram geradas
+ */
+public record PendingImage(Long recipeId, String imageId) {
+}
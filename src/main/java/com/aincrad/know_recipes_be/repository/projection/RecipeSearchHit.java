@@ -0,0 +1,58 @@
+package com.aincrad.know_recipes_be.repository.projection;
+
+import com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Linha retornada pela busca textual: receita + autor + trecho destacado.
+ */
+public interface RecipeSearchHit {
+
+    // Marcadores do ts_headline; só viram <mark> depois que o texto do usuário é escapado
+    String HEADLINE_START = "@@hl@@";
+    String HEADLINE_STOP = "@@/hl@@";
+
+    /**
+     * Trecho destacado como HTML seguro: título e descrição são escapados
+     * e os únicos elementos no resultado são os <mark> dos termos buscados
+     */
+    static String headlineHtml(String rawHeadline) {
+        if (rawHeadline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(rawHeadline)
+            .replace(HEADLINE_START, "<mark>")
+            .replace(HEADLINE_STOP, "</mark>");
+    }
+
+    Long getId();
+
+    String getUniqueId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getImageUrl();
+
+    String getImageId();
+
+    RecipeImageStatus getImageStatus();
+
+    Boolean getIsPrivate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getAuthorUsername();
+
+    Long getAuthorId();
+
+    /**
+     * Trecho bruto do ts_headline (texto do usuário sem escape); usar {@link #headlineHtml(String)}
+     */
+    String getHeadline();
+}
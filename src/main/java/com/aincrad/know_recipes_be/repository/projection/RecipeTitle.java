@@ -0,0 +1,7 @@
+package com.aincrad.know_recipes_be.repository.projection;
+
+/**
+ * Id e título de uma receita, para a carga do índice de títulos (typeahead)
+ */
+public record RecipeTitle(Long id, String title) {
+}
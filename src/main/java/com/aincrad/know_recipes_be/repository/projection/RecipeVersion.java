@@ -0,0 +1,10 @@
+package com.aincrad.know_recipes_be.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Apenas o necessário para revalidar uma receita (ETag / Last-Modified e visibilidade),
+ * sem carregar título, descrição ou autor.
+ */
+public record RecipeVersion(Long id, Boolean isPrivate, LocalDateTime lastModified, Long authorId) {
+}
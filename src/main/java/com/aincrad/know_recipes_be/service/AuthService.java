@@ -1,5 +1,6 @@
 package com.aincrad.know_recipes_be.service;
 
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
 import com.aincrad.know_recipes_be.dto.AuthResponse;
 import com.aincrad.know_recipes_be.dto.LoginRequest;
 import com.aincrad.know_recipes_be.dto.RegisterRequest;
@@ -9,11 +10,9 @@ import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,9 +22,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final UserDetailsService userDetailsService;
 
-    @Transactional
+    // Sem transação em volta: o hash (que pode esperar na fila do pool) não segura
+    // conexão do banco. E-mail e username também são únicos no banco.
     public AuthResponse register(RegisterRequest request) throws BusinessRuleException {
 
         // Validar se email já existe
@@ -46,9 +45,8 @@ public class AuthService {
 
         User savedUser = userRepository.save(user);
 
-        // Gerar token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
-        String token = jwtService.generateToken(userDetails);
+        // Gerar token (id e username vão nas claims)
+        String token = jwtService.generateToken(AuthenticatedUser.from(savedUser));
 
         return AuthResponse.builder()
             .token(token)
@@ -61,27 +59,26 @@ public class AuthService {
 
     public AuthResponse login(LoginRequest request) throws BusinessRuleException {
 
-        // Autenticar
-        authenticationManager.authenticate(
+        // Autenticar; o principal retornado já traz id e username do usuário
+        Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(
                 request.getEmail(),
                 request.getPassword()
             )
         );
 
-        // Buscar usuário
-        User user = userRepository.findByEmail(request.getEmail())
-            .orElseThrow(() -> new BusinessRuleException("Usuário não encontrado"));
+        if (!(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new BusinessRuleException("Usuário não encontrado");
+        }
 
         // Gerar token
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
-        String token = jwtService.generateToken(userDetails);
+        String token = jwtService.generateToken(user);
 
         return AuthResponse.builder()
             .token(token)
             .type("Bearer")
             .userId(user.getId())
-            .username(user.getUsername())
+            .username(user.getDisplayName())
             .email(user.getEmail())
             .build();
     }
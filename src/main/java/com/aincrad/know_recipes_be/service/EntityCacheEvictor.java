@@ -0,0 +1,84 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.service.event.CacheFlushEvent;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O cache de segundo nível é local a cada pod: o Hibernate só invalida as escritas
+ * feitas aqui. As dos outros pods chegam como RecipeChangedEvent pelo barramento
+ * de invalidação e removem a receita e as versões em cache; um CacheFlushEvent
+ * limpa todas as regiões. Usuários não têm evento e dependem do ttl da região.
+ * <p>
+ * Com réplicas, uma leitura logo após a escrita pode recolocar no cache a versão
+ * antiga vinda de uma réplica atrasada; por isso a receita é removida de novo
+ * depois de max-lag, quando nenhuma réplica no rodízio está mais atrás que isso.
+ */
+@Component
+public class EntityCacheEvictor {
+
+    private final Cache cache;
+    private final boolean routingEnabled;
+    private final Duration replicaMaxLag;
+    private final ScheduledExecutorService delayedEvictions;
+
+    public EntityCacheEvictor(
+        EntityManagerFactory entityManagerFactory,
+        @Value("${recipes.datasource.routing.enabled:false}") boolean routingEnabled,
+        @Value("${recipes.datasource.routing.max-lag:10s}") Duration replicaMaxLag
+    ) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.routingEnabled = routingEnabled;
+        this.replicaMaxLag = replicaMaxLag;
+        this.delayedEvictions = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "entity-cache-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Também para escritas deste pod: o custo é uma releitura, e a remoção atrasada cobre as réplicas
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        evictRecipe(event.recipeId());
+        if (routingEnabled) {
+            delayedEvictions.schedule(() -> evictRecipe(event.recipeId()), replicaMaxLag.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Receitas novas não têm dados no cache de entidades; só as consultas de versão mudam
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        cache.evictQueryRegion(RecipeRepository.VERSION_CACHE_REGION);
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        cache.evictAllRegions();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        delayedEvictions.shutdownNow();
+    }
+
+    private void evictRecipe(Long recipeId) {
+        cache.evictEntityData(Recipe.class, recipeId);
+        cache.evictQueryRegion(RecipeRepository.VERSION_CACHE_REGION);
+    }
+}
@@ -1,10 +1,17 @@
 package com.aincrad.know_recipes_be.service;
 
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -13,28 +20,79 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
+    // Claims com a identidade do usuário, dispensando consulta ao banco a cada requisição
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_USERNAME = "username";
+
     @Value("${jwt.secret:404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970}")
     private String secretKey;
 
     @Value("${jwt.expiration:86400000}") // 24 horas em milliseconds
     private long jwtExpiration;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    // Chave e parser são imutáveis e thread-safe: montados uma única vez
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // Tokens já verificados; cada entrada expira no "exp" do próprio token
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+        verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(verifiedCacheMaxSize)
+            .expireAfter(new ExpireAtTokenExpiration())
+            .build();
+    }
+
+    /**
+     * Verifica assinatura e expiração em uma única passada e retorna todas as claims.
+     * Tokens já verificados são servidos do cache até o seu "exp".
+     *
+     * @throws JwtException se o token for inválido ou estiver expirado
+     */
+    public Claims verify(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(CLAIM_USER_ID, user.getId());
+            claims.put(CLAIM_USERNAME, user.getDisplayName());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
@@ -52,34 +110,49 @@ public class JwtService {
             .setSubject(userDetails.getUsername())
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + expiration))
-            .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+            .signWith(signingKey, SignatureAlgorithm.HS256)
             .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    /**
+     * Monta o principal a partir das claims já verificadas.
+     *
+     * @return null para tokens emitidos antes das claims de identidade
+     */
+    public AuthenticatedUser extractPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String username = claims.get(CLAIM_USERNAME, String.class);
+        if (userId == null || username == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), username, null);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        try {
+            Claims claims = verify(token);
+            return claims.getSubject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    private static final class ExpireAtTokenExpiration implements Expiry<String, Claims> {
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-            .parserBuilder()
-            .setSigningKey(getSignInKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody();
-    }
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.service.event.CacheFlushEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+/**
+ * Totais aproximados para listagens sem COUNT(*) ("cerca de N resultados").
+ * Listagens usam contagens em cache (ttl curto); buscas usam a estimativa de linhas
+ * do planejador do PostgreSQL (EXPLAIN), que sai das estatísticas sem ler a tabela.
+ */
+@Component
+public class RecipeCountEstimator {
+
+    private static final String PUBLIC_KEY = "public";
+
+    private static final String EXPLAIN_PUBLIC_SEARCH = "EXPLAIN (FORMAT JSON) SELECT 1 FROM tb_recipes r "
+        + "WHERE r.is_private = false AND r.search_vector @@ to_tsquery('portuguese_unaccent', ?)";
+
+    private static final String EXPLAIN_USER_SEARCH = "EXPLAIN (FORMAT JSON) SELECT 1 FROM tb_recipes r "
+        + "WHERE r.user_id = ? AND r.search_vector @@ to_tsquery('portuguese_unaccent', ?)";
+
+    private final RecipeRepository recipeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final Cache<String, Long> counts;
+
+    public RecipeCountEstimator(
+        RecipeRepository recipeRepository,
+        JdbcTemplate jdbcTemplate,
+        JsonMapper jsonMapper,
+        @Value("${recipes.count-cache.ttl:60s}") Duration ttl,
+        @Value("${recipes.count-cache.max-size:10000}") long maxSize
+    ) {
+        this.recipeRepository = recipeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.counts = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    public long publicRecipes() {
+        return counts.get(PUBLIC_KEY, key -> recipeRepository.countByIsPrivateFalse());
+    }
+
+    public long userRecipes(Long userId) {
+        return counts.get("user:" + userId, key -> recipeRepository.countByUserId(userId));
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        counts.invalidateAll();
+    }
+
+    public long publicSearchMatches(String tsQuery) {
+        return planRows(jdbcTemplate.queryForObject(EXPLAIN_PUBLIC_SEARCH, String.class, tsQuery));
+    }
+
+    public long userSearchMatches(Long userId, String tsQuery) {
+        return planRows(jdbcTemplate.queryForObject(EXPLAIN_USER_SEARCH, String.class, userId, tsQuery));
+    }
+
+    private long planRows(String explainJson) {
+        // [{"Plan": {"Plan Rows": N, ...}}]
+        JsonNode plan = jsonMapper.readTree(explainJson).path(0).path("Plan");
+        return plan.path("Plan Rows").asLong(0);
+    }
+}
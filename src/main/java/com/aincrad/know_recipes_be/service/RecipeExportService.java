@@ -0,0 +1,97 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.dto.RecipeCursor;
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Exportação de receitas em NDJSON (uma receita por linha) direto para o OutputStream.
+ * As linhas vêm em blocos por keyset (createdAt, id), cada bloco numa transação read-only
+ * curta: a conexão volta ao pool antes de escrever, e um cliente lento não prende o banco.
+ * A memória fica limitada a um bloco; a exportação não é um snapshot único (receitas
+ * criadas durante o download ficam antes do cursor e não entram).
+ */
+@Service
+public class RecipeExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RecipeRepository recipeRepository;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public RecipeExportService(
+        RecipeRepository recipeRepository,
+        JsonMapper jsonMapper,
+        PlatformTransactionManager transactionManager,
+        @Value("${recipes.export.chunk-size:500}") int chunkSize
+    ) {
+        this.recipeRepository = recipeRepository;
+        this.jsonMapper = jsonMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Exporta todas as receitas públicas
+     */
+    public void exportPublicRecipes(OutputStream output) throws IOException {
+        export((after, limit) -> after == null
+            ? recipeRepository.findPublicRecipesFirst(limit)
+            : recipeRepository.findPublicRecipesAfter(after.createdAt(), after.id(), limit), output);
+    }
+
+    /**
+     * Exporta as receitas do usuário autenticado
+     */
+    public void exportMyRecipes(OutputStream output) throws IOException {
+        AuthenticatedUser currentUser = AuthenticatedUser.current()
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        Long userId = currentUser.getId();
+        export((after, limit) -> after == null
+            ? recipeRepository.findUserRecipesFirst(userId, limit)
+            : recipeRepository.findUserRecipesAfter(userId, after.createdAt(), after.id(), limit), output);
+    }
+
+    private void export(ChunkSource source, OutputStream output) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+        Limit limit = Limit.of(chunkSize);
+        RecipeCursor position = null;
+        while (true) {
+            RecipeCursor after = position;
+            List<RecipeResponse> chunk = readOnlyTransaction.execute(status -> source.next(after, limit));
+            // Fora da transação: cliente lento (ou desconectado) não segura conexão
+            for (RecipeResponse recipe : chunk) {
+                buffered.write(jsonMapper.writeValueAsBytes(recipe));
+                buffered.write('\n');
+            }
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+            RecipeResponse last = chunk.get(chunk.size() - 1);
+            position = new RecipeCursor(last.getCreatedAt(), last.getId());
+        }
+        buffered.flush();
+    }
+
+    @FunctionalInterface
+    private interface ChunkSource {
+
+        // Próximo bloco depois de after (null = início), na ordem createdAt DESC, id DESC
+        List<RecipeResponse> next(RecipeCursor after, Limit limit);
+    }
+}
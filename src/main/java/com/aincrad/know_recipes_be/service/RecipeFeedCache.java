@@ -0,0 +1,155 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.service.event.CacheFlushEvent;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória do feed principal (10 receitas públicas mais recentes).
+ * Guarda a lista e o JSON já serializado; é invalidado após o commit de
+ * qualquer escrita que envolva uma receita pública e expira após max-staleness.
+ * O ETag é derivado do próprio JSON: recarregar um feed idêntico não muda o validador.
+ */
+@Component
+public class RecipeFeedCache {
+
+    private final JsonMapper jsonMapper;
+    private final long maxStalenessNanos;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    // Incrementado a cada invalidação; um carregamento iniciado antes dela é descartado
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    // Lock explícito (e não synchronized): o carregamento faz I/O no banco e, em
+    // virtual threads no Java 21, synchronized prenderia a carrier thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Validadores do último conteúdo carregado (sobrevivem à invalidação do snapshot)
+    private String lastETag;
+    private long lastModified;
+
+    public RecipeFeedCache(
+        JsonMapper jsonMapper,
+        MeterRegistry meterRegistry,
+        @Value("${recipes.feed-cache.max-staleness:30s}") Duration maxStaleness
+    ) {
+        this.jsonMapper = jsonMapper;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.hits = Counter.builder("recipes.feed.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("recipes.feed.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.invalidations = Counter.builder("recipes.feed.cache.invalidations").register(meterRegistry);
+        Gauge.builder("recipes.feed.cache.age", this, RecipeFeedCache::ageSeconds)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    public List<RecipeResponse> getItems(Supplier<List<RecipeResponse>> loader) {
+        return get(loader).items();
+    }
+
+    public Snapshot get(Supplier<List<RecipeResponse>> loader) {
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            hits.increment();
+            return current;
+        }
+        return load(loader);
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+        invalidations.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.affectsPublicCatalog()) {
+            invalidate();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        if (event.publicCatalog()) {
+            invalidate();
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        invalidate();
+    }
+
+    private Snapshot load(Supplier<List<RecipeResponse>> loader) {
+        loadLock.lock();
+        try {
+            // Outra thread pode ter carregado enquanto esperávamos o lock
+            Snapshot current = snapshot;
+            if (isFresh(current)) {
+                hits.increment();
+                return current;
+            }
+
+            misses.increment();
+            long loadGeneration = generation.get();
+            List<RecipeResponse> items = List.copyOf(loader.get());
+            byte[] json = jsonMapper.writeValueAsBytes(items);
+            String eTag = eTagOf(json);
+            if (!eTag.equals(lastETag)) {
+                lastETag = eTag;
+                lastModified = System.currentTimeMillis();
+            }
+            Snapshot loaded = new Snapshot(items, json, eTag, lastModified, System.nanoTime());
+
+            snapshot = loaded;
+            if (generation.get() != loadGeneration) {
+                // Invalidado durante o carregamento: não reaproveitar o resultado
+                snapshot = null;
+            }
+            return loaded;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && System.nanoTime() - current.loadedAt() < maxStalenessNanos;
+    }
+
+    private static String eTagOf(byte[] json) {
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        return "\"feed-" + Long.toHexString(crc.getValue()) + "-" + json.length + "\"";
+    }
+
+    private double ageSeconds() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : (System.nanoTime() - current.loadedAt()) / 1_000_000_000.0;
+    }
+
+    /**
+     * Feed carregado: itens, JSON serializado e validadores HTTP (lastModified em epoch millis)
+     */
+    public record Snapshot(List<RecipeResponse> items, byte[] json, String eTag, long lastModified, long loadedAt) {
+    }
+}
@@ -0,0 +1,268 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.dto.RecipeImportResponse;
+import com.aincrad.know_recipes_be.dto.RecipeRequest;
+import com.aincrad.know_recipes_be.exception.UnknownUserException;
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Importação em lote de receitas (migração de coleções de parceiros).
+ * Valida item a item e insere os válidos em lotes, cada lote em sua própria
+ * transação, com batch JDBC (hibernate.jdbc.batch_size) e IDs reservados em
+ * blocos pela sequence (otimizador pooled).
+ * <p>
+ * Cada lote gravado publica um único RecipesImportedEvent. Se o banco falhar num
+ * lote, a importação para ali: os lotes anteriores continuam gravados e a resposta
+ * traz o que entrou, os itens do lote perdido e o motivo (abortReason).
+ */
+@Slf4j
+@Service
+public class RecipeImportService {
+
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+    private final int batchSize;
+
+    public RecipeImportService(
+        EntityManager entityManager,
+        UserRepository userRepository,
+        UserCache userCache,
+        Validator validator,
+        JsonMapper jsonMapper,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager,
+        @Value("${recipes.import.max-items:10000}") int maxItems,
+        @Value("${recipes.import.batch-size:500}") int batchSize
+    ) {
+        this.entityManager = entityManager;
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importa receitas recebidas como array JSON
+     */
+    public RecipeImportResponse importRecipes(List<RecipeRequest> requests) {
+        if (requests.size() > maxItems) {
+            throw new IllegalArgumentException("Máximo de " + maxItems + " receitas por importação");
+        }
+
+        ImportRun run = new ImportRun(getCurrentUser());
+        for (RecipeRequest request : requests) {
+            if (run.abortReason != null) {
+                break;
+            }
+            run.add(request);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Importa receitas recebidas como array JSON, lendo o corpo em streaming: um array com mais
+     * de max-items é recusado (nada é importado) assim que o item excedente aparece, sem
+     * desserializar o restante do corpo
+     *
+     * @throws IllegalArgumentException se o corpo não for um array JSON ou exceder max-items
+     */
+    public RecipeImportResponse importRecipeArray(InputStream json) {
+        List<RecipeRequest> requests = new ArrayList<>();
+        try (JsonParser parser = jsonMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Esperado um array JSON de receitas");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("Array JSON incompleto");
+                }
+                if (requests.size() >= maxItems) {
+                    throw new IllegalArgumentException("Máximo de " + maxItems + " receitas por importação");
+                }
+                requests.add(parser.readValueAs(RecipeRequest.class));
+            }
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage(), e);
+        }
+        return importRecipes(requests);
+    }
+
+    /**
+     * Importa receitas recebidas como NDJSON (uma receita por linha), lendo o corpo em streaming
+     */
+    public RecipeImportResponse importRecipes(InputStream ndjson) throws IOException {
+        ImportRun run = new ImportRun(getCurrentUser());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null && run.abortReason == null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (run.received >= maxItems) {
+                // O que já foi importado fica; o restante do corpo é descartado
+                run.reject(List.of("Máximo de " + maxItems + " receitas por importação atingido; linhas seguintes ignoradas"));
+                break;
+            }
+            try {
+                run.add(jsonMapper.readValue(line, RecipeRequest.class));
+            } catch (JacksonException e) {
+                run.reject(List.of("JSON inválido: " + e.getOriginalMessage()));
+            }
+        }
+        return run.finish();
+    }
+
+    private AuthenticatedUser getCurrentUser() {
+        AuthenticatedUser currentUser = AuthenticatedUser.current()
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+        // Os lotes usam uma referência sem SELECT: um token de usuário removido estouraria a FK
+        if (userCache.findById(currentUser.getId()).isEmpty()) {
+            throw new UnknownUserException("Usuário não existe mais; faça login novamente");
+        }
+        return currentUser;
+    }
+
+    private void insertBatch(List<RecipeRequest> batch, Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Referência ao autor sem SELECT; o contexto é limpo a cada lote
+            User author = userRepository.getReferenceById(userId);
+            boolean publicCatalog = false;
+            for (RecipeRequest request : batch) {
+                Recipe recipe = new Recipe();
+                recipe.setUniqueId(UUID.randomUUID().toString());
+                recipe.setTitle(request.getTitle());
+                recipe.setDescription(request.getDescription());
+                recipe.setImageUrl(request.getImageUrl());
+                recipe.setIsPrivate(request.getIsPrivate() != null ? request.getIsPrivate() : false);
+                recipe.setUser(author);
+                entityManager.persist(recipe);
+                publicCatalog |= !recipe.getIsPrivate();
+            }
+            entityManager.flush();
+            entityManager.clear();
+
+            // Um evento por lote: os ouvintes invalidam uma vez, após o commit
+            eventPublisher.publishEvent(new RecipesImportedEvent(userId, batch.size(), publicCatalog));
+        });
+    }
+
+    /**
+     * Estado de uma chamada de importação: acumula o lote corrente e os erros por item
+     */
+    private final class ImportRun {
+
+        private final Long userId;
+        private final List<RecipeRequest> batch = new ArrayList<>(batchSize);
+        // Posição de cada item do lote corrente na entrada, para reportar uma falha do lote
+        private final List<Integer> batchIndexes = new ArrayList<>(batchSize);
+        private final List<RecipeImportResponse.ItemError> errors = new ArrayList<>();
+        private int received;
+        private int imported;
+        private String abortReason;
+
+        private ImportRun(AuthenticatedUser user) {
+            this.userId = user.getId();
+        }
+
+        void add(RecipeRequest request) {
+            if (request == null) {
+                reject(List.of("Receita vazia"));
+                return;
+            }
+            Set<ConstraintViolation<RecipeRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(violations.stream()
+                    .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .toList());
+                return;
+            }
+
+            batchIndexes.add(received);
+            received++;
+            batch.add(request);
+            if (batch.size() >= batchSize) {
+                flushBatch();
+            }
+        }
+
+        void reject(List<String> messages) {
+            errors.add(new RecipeImportResponse.ItemError(received, messages));
+            received++;
+        }
+
+        RecipeImportResponse finish() {
+            flushBatch();
+            return RecipeImportResponse.builder()
+                .received(received)
+                .imported(imported)
+                .failed(errors.size())
+                .errors(errors)
+                .abortReason(abortReason)
+                .build();
+        }
+
+        private void flushBatch() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                insertBatch(batch, userId);
+                imported += batch.size();
+            } catch (PersistenceException | DataAccessException | TransactionException e) {
+                // Os lotes anteriores já foram confirmados: em vez de um 500, o relatório parcial
+                log.warn("Falha ao gravar lote de {} receitas importadas; importação interrompida", batch.size(), e);
+                abortReason = "Falha ao gravar no banco; importação interrompida após " + imported + " receitas";
+                for (Integer index : batchIndexes) {
+                    errors.add(new RecipeImportResponse.ItemError(index, List.of("Lote não gravado: falha no banco")));
+                }
+            } finally {
+                batch.clear();
+                batchIndexes.clear();
+            }
+        }
+    }
+}
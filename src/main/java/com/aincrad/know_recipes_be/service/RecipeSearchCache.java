@@ -0,0 +1,118 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.dto.SearchSort;
+import com.aincrad.know_recipes_be.service.event.CacheFlushEvent;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache dos resultados da busca pública, com tamanho máximo e ttl.
+ * A chave leva a versão do catálogo público, incrementada após o commit de toda
+ * escrita que envolva uma receita pública: resultados anteriores a ela (inclusive
+ * os de uma consulta que ainda estava em andamento) deixam de ser encontrados e
+ * saem do cache por tamanho ou ttl.
+ */
+@Component
+public class RecipeSearchCache {
+
+    private final Cache<VersionedKey, Object> results;
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private final Counter skippedStores;
+
+    // Com réplicas, uma leitura logo após a escrita pode ainda não vê-la: nesse
+    // intervalo (max-lag das réplicas) os resultados são servidos, mas não guardados
+    private final long replicaLagNanos;
+    private volatile long lastChangeNanos = System.nanoTime();
+
+    public RecipeSearchCache(
+        MeterRegistry meterRegistry,
+        @Value("${recipes.search-cache.ttl:2m}") Duration ttl,
+        @Value("${recipes.search-cache.max-size:10000}") long maxSize,
+        @Value("${recipes.datasource.routing.enabled:false}") boolean routingEnabled,
+        @Value("${recipes.datasource.routing.max-lag:10s}") Duration replicaMaxLag
+    ) {
+        this.results = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .recordStats()
+            .build();
+        this.replicaLagNanos = routingEnabled ? replicaMaxLag.toNanos() : 0;
+        this.lastChangeNanos -= replicaLagNanos;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "recipes.search");
+        Gauge.builder("recipes.search.cache.hit.ratio", results, cache -> cache.stats().hitRate())
+            .register(meterRegistry);
+        Gauge.builder("recipes.search.cache.catalog.version", catalogVersion, AtomicLong::get)
+            .register(meterRegistry);
+        this.skippedStores = Counter.builder("recipes.search.cache.skipped").register(meterRegistry);
+    }
+
+    /**
+     * Resultado em cache para a chave na versão atual do catálogo, ou o do loader
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> loader) {
+        VersionedKey versionedKey = new VersionedKey(catalogVersion.get(), key);
+        Object cached = results.getIfPresent(versionedKey);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        T loaded = loader.get();
+        if (System.nanoTime() - lastChangeNanos >= replicaLagNanos) {
+            results.put(versionedKey, loaded);
+        } else {
+            skippedStores.increment();
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.affectsPublicCatalog()) {
+            bumpVersion();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        if (event.publicCatalog()) {
+            bumpVersion();
+        }
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        bumpVersion();
+        results.invalidateAll();
+    }
+
+    private void bumpVersion() {
+        lastChangeNanos = System.nanoTime();
+        catalogVersion.incrementAndGet();
+    }
+
+    /**
+     * Consulta normalizada (a expressão tsquery, que já ignora maiúsculas e pontuação)
+     * e a página pedida. approximateTotal só se aplica ao modo slice.
+     */
+    public record Key(String query, SearchSort sort, int page, int size, boolean slice, boolean approximateTotal) {
+    }
+
+    private record VersionedKey(long version, Key key) {
+    }
+}
@@ -1,37 +1,88 @@
 package com.aincrad.know_recipes_be.service;
 
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.dto.RecipeBatchItem;
+import com.aincrad.know_recipes_be.dto.RecipeCursor;
 import com.aincrad.know_recipes_be.dto.RecipeRequest;
 import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.dto.ScrollResponse;
+import com.aincrad.know_recipes_be.dto.SearchSort;
+import com.aincrad.know_recipes_be.dto.SliceResponse;
+import com.aincrad.know_recipes_be.dto.ThumbnailUrls;
+import com.aincrad.know_recipes_be.exception.UnknownUserException;
 import com.aincrad.know_recipes_be.repository.entity.Recipe;
 import com.aincrad.know_recipes_be.repository.entity.User;
 import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
 import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.aincrad.know_recipes_be.repository.projection.RecipeSearchHit;
+import com.aincrad.know_recipes_be.repository.projection.RecipeVersion;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipeImageChangedEvent;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 @Service
-@RequiredArgsConstructor
 public class RecipeService {
 
     private final RecipeRepository recipeRepository;
     private final UserRepository userRepository;
+    private final RecipeFeedCache recipeFeedCache;
+    private final UserCache userCache;
+    private final RecipeCountEstimator recipeCountEstimator;
+    private final RecipeSearchCache recipeSearchCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public RecipeService(
+        RecipeRepository recipeRepository,
+        UserRepository userRepository,
+        RecipeFeedCache recipeFeedCache,
+        UserCache userCache,
+        RecipeCountEstimator recipeCountEstimator,
+        RecipeSearchCache recipeSearchCache,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.recipeRepository = recipeRepository;
+        this.userRepository = userRepository;
+        this.recipeFeedCache = recipeFeedCache;
+        this.userCache = userCache;
+        this.recipeCountEstimator = recipeCountEstimator;
+        this.recipeSearchCache = recipeSearchCache;
+        this.eventPublisher = eventPublisher;
+        // Carregadores dos caches: a transação só abre numa falta, e read-only vai para a réplica
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     /**
      * Cria uma nova receita
      */
     @Transactional
     public RecipeResponse createRecipe(RecipeRequest request) {
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
+        // O token pode sobreviver ao usuário: sem essa checagem, a FK estouraria como 500
+        if (userCache.findById(currentUser.getId()).isEmpty()) {
+            throw new UnknownUserException("Usuário não existe mais; faça login novamente");
+        }
 
         Recipe recipe = new Recipe();
         recipe.setUniqueId(UUID.randomUUID().toString());
@@ -39,9 +90,12 @@ public class RecipeService {
         recipe.setDescription(request.getDescription());
         recipe.setImageUrl(request.getImageUrl());
         recipe.setIsPrivate(request.getIsPrivate() != null ? request.getIsPrivate() : false);
-        recipe.setUser(currentUser);
+        // Referência ao autor sem SELECT em TB_USERS
+        recipe.setUser(userRepository.getReferenceById(currentUser.getId()));
 
         Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(
+            RecipeChangedEvent.Type.CREATED, savedRecipe.getId(), currentUser.getId(), savedRecipe.getTitle(), false, !savedRecipe.getIsPrivate()));
         return mapToResponse(savedRecipe);
     }
 
@@ -50,7 +104,7 @@ public class RecipeService {
      */
     @Transactional
     public RecipeResponse updateRecipe(Long recipeId, RecipeRequest request) {
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
 
         Recipe recipe = recipeRepository.findById(recipeId)
             .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
@@ -60,12 +114,22 @@ public class RecipeService {
             throw new IllegalArgumentException("Você não tem permissão para editar esta receita");
         }
 
+        boolean publicBefore = !recipe.getIsPrivate();
         recipe.setTitle(request.getTitle());
         recipe.setDescription(request.getDescription());
+        // Trocar a imageUrl descarta a imagem enviada (os arquivos são apagados após o commit)
+        String previousImageId = recipe.getImageId();
+        if (previousImageId != null && !Objects.equals(request.getImageUrl(), recipe.getImageUrl())) {
+            recipe.setImageId(null);
+            recipe.setImageStatus(null);
+            eventPublisher.publishEvent(new RecipeImageChangedEvent(recipe.getId(), null, previousImageId));
+        }
         recipe.setImageUrl(request.getImageUrl());
         recipe.setIsPrivate(request.getIsPrivate() != null ? request.getIsPrivate() : recipe.getIsPrivate());
 
         Recipe updatedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(new RecipeChangedEvent(
+            RecipeChangedEvent.Type.UPDATED, updatedRecipe.getId(), currentUser.getId(), updatedRecipe.getTitle(), publicBefore, !updatedRecipe.getIsPrivate()));
         return mapToResponse(updatedRecipe);
     }
 
@@ -74,7 +138,7 @@ public class RecipeService {
      */
     @Transactional
     public void deleteRecipe(Long recipeId) {
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
 
         Recipe recipe = recipeRepository.findById(recipeId)
             .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
@@ -84,134 +148,403 @@ public class RecipeService {
         }
 
         recipeRepository.delete(recipe);
+        if (recipe.getImageId() != null) {
+            eventPublisher.publishEvent(new RecipeImageChangedEvent(recipe.getId(), null, recipe.getImageId()));
+        }
+        eventPublisher.publishEvent(new RecipeChangedEvent(
+            RecipeChangedEvent.Type.DELETED, recipe.getId(), currentUser.getId(), recipe.getTitle(), !recipe.getIsPrivate(), false));
     }
 
     /**
      * Busca receita por ID (verifica permissões)
      */
+    @Transactional(readOnly = true)
     public RecipeResponse getRecipeById(Long recipeId) {
         Recipe recipe = recipeRepository.findById(recipeId)
             .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
 
         // Se for privada, apenas o dono pode ver
-        if (recipe.getIsPrivate()) {
-            User currentUser = getCurrentUserOrNull();
-            if (currentUser == null || !recipe.getUser().getId().equals(currentUser.getId())) {
-                throw new IllegalArgumentException("Você não tem permissão para visualizar esta receita");
-            }
-        }
+        checkCanView(recipe.getIsPrivate(), recipe.getUser().getId(), "Você não tem permissão para visualizar esta receita");
 
         return mapToResponse(recipe);
     }
 
+    /**
+     * Versão da receita por ID, para revalidação sem carregar a receita (mesmas permissões de getRecipeById)
+     */
+    @Transactional(readOnly = true)
+    public RecipeVersion getRecipeVersion(Long recipeId) {
+        RecipeVersion version = recipeRepository.findVersionById(recipeId)
+            .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
+        checkCanView(version.isPrivate(), version.authorId(), "Você não tem permissão para visualizar esta receita");
+        return version;
+    }
+
     /**
      * Busca receita por uniqueId (público)
      */
+    @Transactional(readOnly = true)
     public RecipeResponse getRecipeByUniqueId(String uniqueId) {
         Recipe recipe = recipeRepository.findByUniqueId(uniqueId)
             .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
 
-        if (recipe.getIsPrivate()) {
-            User currentUser = getCurrentUserOrNull();
-            if (currentUser == null || !recipe.getUser().getId().equals(currentUser.getId())) {
-                throw new IllegalArgumentException("Receita privada");
-            }
-        }
+        checkCanView(recipe.getIsPrivate(), recipe.getUser().getId(), "Receita privada");
 
         return mapToResponse(recipe);
     }
 
+    /**
+     * Busca várias receitas por uniqueId num único SELECT (coleções compartilhadas).
+     * Mesmas regras de visibilidade de getRecipeByUniqueId, aplicadas item a item;
+     * a resposta segue a ordem pedida, com found=false onde a receita não pode ser vista
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeBatchItem> getRecipesByUniqueIds(List<String> uniqueIds) {
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, RecipeResponse> visible = visibleByKey(
+            recipeRepository.findRecipeViewsByUniqueIds(new HashSet<>(uniqueIds)), RecipeResponse::getUniqueId);
+        return uniqueIds.stream()
+            .map(uniqueId -> RecipeBatchItem.of(uniqueId, visible.get(uniqueId)))
+            .toList();
+    }
+
+    /**
+     * Busca várias receitas por ID num único SELECT (mesmas regras de getRecipesByUniqueIds)
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeBatchItem> getRecipesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, RecipeResponse> visible = visibleByKey(
+            recipeRepository.findRecipeViewsByIds(new HashSet<>(ids)), RecipeResponse::getId);
+        return ids.stream()
+            .map(id -> RecipeBatchItem.of(String.valueOf(id), visible.get(id)))
+            .toList();
+    }
+
+    /**
+     * Versão da receita por uniqueId, para revalidação sem carregar a receita
+     */
+    @Transactional(readOnly = true)
+    public RecipeVersion getRecipeVersionByUniqueId(String uniqueId) {
+        RecipeVersion version = recipeRepository.findVersionByUniqueId(uniqueId)
+            .orElseThrow(() -> new IllegalArgumentException("Receita não encontrada"));
+        checkCanView(version.isPrivate(), version.authorId(), "Receita privada");
+        return version;
+    }
+
     /**
      * Lista todas as receitas públicas com paginação
      */
+    @Transactional(readOnly = true)
     public Page<RecipeResponse> getPublicRecipes(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return recipeRepository.findByIsPrivateFalseOrderByCreatedAtDesc(pageable)
-            .map(this::mapToResponse);
+        return recipeRepository.findPublicRecipeViews(pageable);
     }
 
     /**
      * Lista receitas do usuário autenticado
      */
+    @Transactional(readOnly = true)
     public Page<RecipeResponse> getMyRecipes(int page, int size) {
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         Pageable pageable = PageRequest.of(page, size);
-        return recipeRepository.findByUserIdOrderByCreatedAtDesc(currentUser.getId(), pageable)
-            .map(this::mapToResponse);
+        return recipeRepository.findUserRecipeViews(currentUser.getId(), pageable);
+    }
+
+    /**
+     * Lista receitas públicas sem COUNT(*); total aproximado opcional
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<RecipeResponse> getPublicRecipesSlice(int page, int size, boolean approximateTotal) {
+        Slice<RecipeResponse> recipes = recipeRepository.slicePublicRecipeViews(PageRequest.of(page, size));
+        return toSliceResponse(recipes, approximateTotal, recipeCountEstimator::publicRecipes);
+    }
+
+    /**
+     * Lista receitas do usuário autenticado sem COUNT(*); total aproximado opcional
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<RecipeResponse> getMyRecipesSlice(int page, int size, boolean approximateTotal) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        Slice<RecipeResponse> recipes = recipeRepository.sliceUserRecipeViews(currentUser.getId(), PageRequest.of(page, size));
+        return toSliceResponse(recipes, approximateTotal, () -> recipeCountEstimator.userRecipes(currentUser.getId()));
+    }
+
+    /**
+     * Lista receitas públicas por cursor (keyset), sem OFFSET
+     */
+    @Transactional(readOnly = true)
+    public ScrollResponse<RecipeResponse> getPublicRecipesAfter(String cursor, int size) {
+        RecipeCursor position = RecipeCursor.decode(cursor);
+        Limit limit = Limit.of(size + 1);
+        List<RecipeResponse> recipes = position == null
+            ? recipeRepository.findPublicRecipesFirst(limit)
+            : recipeRepository.findPublicRecipesAfter(position.createdAt(), position.id(), limit);
+        return toScrollResponse(recipes, size);
+    }
+
+    /**
+     * Lista receitas do usuário autenticado por cursor (keyset), sem OFFSET
+     */
+    @Transactional(readOnly = true)
+    public ScrollResponse<RecipeResponse> getMyRecipesAfter(String cursor, int size) {
+        RecipeCursor position = RecipeCursor.decode(cursor);
+        AuthenticatedUser currentUser = getCurrentUser();
+        Limit limit = Limit.of(size + 1);
+        List<RecipeResponse> recipes = position == null
+            ? recipeRepository.findUserRecipesFirst(currentUser.getId(), limit)
+            : recipeRepository.findUserRecipesAfter(currentUser.getId(), position.createdAt(), position.id(), limit);
+        return toScrollResponse(recipes, size);
     }
 
     /**
      * Busca receitas públicas por palavra-chave
      */
     public Page<RecipeResponse> searchPublicRecipes(String keyword, int page, int size) {
+        return searchPublicRecipes(keyword, page, size, SearchSort.RECENT);
+    }
+
+    /**
+     * Busca receitas públicas por palavra-chave (full-text), ordenadas por data ou relevância
+     * Sem @Transactional, como o feed: um acerto no cache não abre transação; numa falta,
+     * consulta e contagem rodam juntas numa transação read-only (réplica, mesmo snapshot)
+     */
+    public Page<RecipeResponse> searchPublicRecipes(String keyword, int page, int size, SearchSort sort) {
         Pageable pageable = PageRequest.of(page, size);
-        return recipeRepository.searchPublicRecipes(keyword, pageable)
-            .map(this::mapToResponse);
+        String query = SearchQueryBuilder.toTsQuery(keyword);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+
+        RecipeSearchCache.Key key = new RecipeSearchCache.Key(query, sort, page, size, false, false);
+        return recipeSearchCache.get(key, () -> readOnlyTransaction.execute(status -> {
+            Page<RecipeSearchHit> hits = sort == SearchSort.RELEVANCE
+                ? recipeRepository.searchPublicRecipesByRelevance(query, pageable)
+                : recipeRepository.searchPublicRecipes(query, pageable);
+            return hits.map(this::mapToResponse);
+        }));
+    }
+
+    /**
+     * Busca receitas públicas sem COUNT(*); total aproximado (estimativa do planejador) opcional
+     * Servida do mesmo cache da busca paginada; numa falta, carrega numa transação read-only
+     */
+    public SliceResponse<RecipeResponse> searchPublicRecipesSlice(
+        String keyword, int page, int size, SearchSort sort, boolean approximateTotal) {
+        Pageable pageable = PageRequest.of(page, size);
+        String query = SearchQueryBuilder.toTsQuery(keyword);
+        if (query == null) {
+            return emptySlice(page, size, approximateTotal);
+        }
+
+        RecipeSearchCache.Key key = new RecipeSearchCache.Key(query, sort, page, size, true, approximateTotal);
+        return recipeSearchCache.get(key, () -> readOnlyTransaction.execute(status -> {
+            Slice<RecipeSearchHit> hits = sort == SearchSort.RELEVANCE
+                ? recipeRepository.sliceSearchPublicRecipesByRelevance(query, pageable)
+                : recipeRepository.sliceSearchPublicRecipes(query, pageable);
+            return toSliceResponse(hits.map(this::mapToResponse), approximateTotal,
+                () -> recipeCountEstimator.publicSearchMatches(query));
+        }));
     }
 
     /**
      * Busca nas receitas do usuário
      */
+    @Transactional(readOnly = true)
     public Page<RecipeResponse> searchMyRecipes(String keyword, int page, int size) {
-        User currentUser = getCurrentUser();
+        return searchMyRecipes(keyword, page, size, SearchSort.RECENT);
+    }
+
+    /**
+     * Busca nas receitas do usuário (full-text), ordenadas por data ou relevância
+     */
+    @Transactional(readOnly = true)
+    public Page<RecipeResponse> searchMyRecipes(String keyword, int page, int size, SearchSort sort) {
+        AuthenticatedUser currentUser = getCurrentUser();
+        Pageable pageable = PageRequest.of(page, size);
+        String query = SearchQueryBuilder.toTsQuery(keyword);
+        if (query == null) {
+            return Page.empty(pageable);
+        }
+
+        Page<RecipeSearchHit> hits = sort == SearchSort.RELEVANCE
+            ? recipeRepository.searchUserRecipesByRelevance(currentUser.getId(), query, pageable)
+            : recipeRepository.searchUserRecipes(currentUser.getId(), query, pageable);
+        return hits.map(this::mapToResponse);
+    }
+
+    /**
+     * Busca nas receitas do usuário sem COUNT(*); total aproximado (estimativa do planejador) opcional
+     */
+    @Transactional(readOnly = true)
+    public SliceResponse<RecipeResponse> searchMyRecipesSlice(
+        String keyword, int page, int size, SearchSort sort, boolean approximateTotal) {
+        AuthenticatedUser currentUser = getCurrentUser();
         Pageable pageable = PageRequest.of(page, size);
-        return recipeRepository.searchUserRecipes(currentUser.getId(), keyword, pageable)
-            .map(this::mapToResponse);
+        String query = SearchQueryBuilder.toTsQuery(keyword);
+        if (query == null) {
+            return emptySlice(page, size, approximateTotal);
+        }
+
+        Slice<RecipeSearchHit> hits = sort == SearchSort.RELEVANCE
+            ? recipeRepository.sliceSearchUserRecipesByRelevance(currentUser.getId(), query, pageable)
+            : recipeRepository.sliceSearchUserRecipes(currentUser.getId(), query, pageable);
+        return toSliceResponse(hits.map(this::mapToResponse), approximateTotal,
+            () -> recipeCountEstimator.userSearchMatches(currentUser.getId(), query));
     }
 
     /**
-     * Obtém as 10 receitas mais recentes (feed principal)
+     * Obtém as 10 receitas mais recentes (feed principal), servidas do cache
+     * Sem @Transactional: um acerto no cache não deve abrir transação; o carregamento
+     * abre a sua, read-only, para ir à réplica
      */
     public List<RecipeResponse> getRecentRecipes() {
-        return recipeRepository.findTop10ByIsPrivateFalseOrderByCreatedAtDesc()
-            .stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+        return recipeFeedCache.getItems(this::loadRecentRecipes);
+    }
+
+    /**
+     * Feed principal já serializado em JSON, com ETag e Last-Modified, servido do cache
+     */
+    public RecipeFeedCache.Snapshot getRecentRecipesFeed() {
+        return recipeFeedCache.get(this::loadRecentRecipes);
     }
 
     /**
      * Estatísticas do usuário
      */
+    @Transactional(readOnly = true)
     public long getMyRecipeCount() {
-        User currentUser = getCurrentUser();
+        AuthenticatedUser currentUser = getCurrentUser();
         return recipeRepository.countByUserId(currentUser.getId());
     }
 
     // ===== MÉTODOS AUXILIARES =====
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
+    private AuthenticatedUser getCurrentUser() {
+        return AuthenticatedUser.current()
             .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
     }
 
-    private User getCurrentUserOrNull() {
-        try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
-                return null;
+    private AuthenticatedUser getCurrentUserOrNull() {
+        return AuthenticatedUser.current().orElse(null);
+    }
+
+    private void checkCanView(boolean isPrivate, Long authorId, String message) {
+        if (isPrivate) {
+            AuthenticatedUser currentUser = getCurrentUserOrNull();
+            if (currentUser == null || !authorId.equals(currentUser.getId())) {
+                throw new IllegalArgumentException(message);
             }
-            String email = authentication.getName();
-            return userRepository.findByEmail(email).orElse(null);
-        } catch (Exception e) {
-            return null;
         }
     }
 
-    private RecipeResponse mapToResponse(Recipe recipe) {
+    // Privadas só entram se o usuário autenticado for o autor
+    private <K> Map<K, RecipeResponse> visibleByKey(List<RecipeResponse> recipes, Function<RecipeResponse, K> key) {
+        AuthenticatedUser currentUser = getCurrentUserOrNull();
+        Map<K, RecipeResponse> visible = new HashMap<>(recipes.size() * 2);
+        for (RecipeResponse recipe : recipes) {
+            if (!recipe.getIsPrivate() || (currentUser != null && currentUser.getId().equals(recipe.getAuthorId()))) {
+                visible.put(key.apply(recipe), recipe);
+            }
+        }
+        return visible;
+    }
+
+    private String authorUsername(Recipe recipe) {
+        User author = recipe.getUser();
+        if (Hibernate.isInitialized(author)) {
+            return author.getUsername();
+        }
+
+        // getId() de um proxy não dispara SELECT; o username vem do token ou do cache
+        AuthenticatedUser currentUser = getCurrentUserOrNull();
+        if (currentUser != null && currentUser.getId().equals(author.getId())) {
+            return currentUser.getDisplayName();
+        }
+        return userCache.findById(author.getId())
+            .map(AuthenticatedUser::getDisplayName)
+            .orElse(null);
+    }
+
+    private List<RecipeResponse> loadRecentRecipes() {
+        return readOnlyTransaction.execute(status -> recipeRepository.findRecentPublicRecipeViews(Limit.of(10)));
+    }
+
+    private ScrollResponse<RecipeResponse> toScrollResponse(List<RecipeResponse> recipes, int size) {
+        // Buscamos size + 1 linhas: a excedente só indica que existe próxima página
+        boolean hasNext = recipes.size() > size;
+        List<RecipeResponse> pageItems = hasNext ? recipes.subList(0, size) : recipes;
+
+        String nextCursor = null;
+        if (hasNext) {
+            RecipeResponse last = pageItems.get(pageItems.size() - 1);
+            nextCursor = new RecipeCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return ScrollResponse.<RecipeResponse>builder()
+            .items(pageItems)
+            .nextCursor(nextCursor)
+            .hasNext(hasNext)
+            .build();
+    }
+
+    private SliceResponse<RecipeResponse> toSliceResponse(
+        Slice<RecipeResponse> slice, boolean approximateTotal, LongSupplier total) {
+        return SliceResponse.<RecipeResponse>builder()
+            .items(slice.getContent())
+            .page(slice.getNumber())
+            .size(slice.getSize())
+            .hasNext(slice.hasNext())
+            .approximateTotal(approximateTotal ? total.getAsLong() : null)
+            .build();
+    }
+
+    private SliceResponse<RecipeResponse> emptySlice(int page, int size, boolean approximateTotal) {
+        return SliceResponse.<RecipeResponse>builder()
+            .items(List.of())
+            .page(page)
+            .size(size)
+            .hasNext(false)
+            .approximateTotal(approximateTotal ? 0L : null)
+            .build();
+    }
+
+    // Visível no pacote para o RecipeMappingBenchmark (src/jmh)
+    RecipeResponse mapToResponse(Recipe recipe) {
         return RecipeResponse.builder()
             .id(recipe.getId())
             .uniqueId(recipe.getUniqueId())
             .title(recipe.getTitle())
             .description(recipe.getDescription())
             .imageUrl(recipe.getImageUrl())
+            .thumbnails(ThumbnailUrls.of(recipe.getImageUrl(), recipe.getImageId(), recipe.getImageStatus()))
             .isPrivate(recipe.getIsPrivate())
             .createdAt(recipe.getCreatedAt())
             .updatedAt(recipe.getUpdatedAt())
-            .authorUsername(recipe.getUser().getUsername())
+            .authorUsername(authorUsername(recipe))
             .authorId(recipe.getUser().getId())
             .build();
     }
 
+    private RecipeResponse mapToResponse(RecipeSearchHit hit) {
+        return RecipeResponse.builder()
+            .id(hit.getId())
+            .uniqueId(hit.getUniqueId())
+            .title(hit.getTitle())
+            .description(hit.getDescription())
+            .imageUrl(hit.getImageUrl())
+            .thumbnails(ThumbnailUrls.of(hit.getImageUrl(), hit.getImageId(), hit.getImageStatus()))
+            .isPrivate(hit.getIsPrivate())
+            .createdAt(hit.getCreatedAt())
+            .updatedAt(hit.getUpdatedAt())
+            .authorUsername(hit.getAuthorUsername())
+            .authorId(hit.getAuthorId())
+            .headline(RecipeSearchHit.headlineHtml(hit.getHeadline()))
+            .build();
+    }
+
 }
\ No newline at end of file
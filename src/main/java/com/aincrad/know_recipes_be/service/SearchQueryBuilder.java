@@ -0,0 +1,41 @@
+package com.aincrad.know_recipes_be.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converte o texto digitado pelo usuário em uma expressão to_tsquery segura.
+ * Os termos são combinados com AND e o último vira prefixo (":*"), já que a
+ * busca é disparada a cada tecla no frontend.
+ */
+final class SearchQueryBuilder {
+
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private SearchQueryBuilder() {
+    }
+
+    /**
+     * @return expressão para to_tsquery ou null se não houver termos pesquisáveis
+     */
+    static String toTsQuery(String keyword) {
+        if (keyword == null) {
+            return null;
+        }
+
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TERM.matcher(keyword);
+        while (matcher.find()) {
+            terms.add(matcher.group().toLowerCase());
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        int last = terms.size() - 1;
+        terms.set(last, terms.get(last) + ":*");
+        return String.join(" & ", terms);
+    }
+}
@@ -0,0 +1,53 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import com.aincrad.know_recipes_be.service.event.CacheFlushEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cache de curta duração dos dados públicos de usuários (id, email, username),
+ * para os casos que ainda precisam deles fora do token (ex.: autor de uma receita).
+ * Guarda cópias imutáveis, nunca as entidades gerenciadas pelo JPA.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, AuthenticatedUser> usersById;
+
+    public UserCache(
+        UserRepository userRepository,
+        @Value("${recipes.user-cache.ttl:30s}") Duration ttl,
+        @Value("${recipes.user-cache.max-size:10000}") long maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.usersById = Caffeine.newBuilder()
+            .expireAfterWrite(ttl)
+            .maximumSize(maxSize)
+            .build();
+    }
+
+    public Optional<AuthenticatedUser> findById(Long userId) {
+        AuthenticatedUser user = usersById.get(userId, id -> userRepository.findById(id)
+            .map(entity -> new AuthenticatedUser(entity.getId(), entity.getEmail(), entity.getUsername(), null))
+            .orElse(null));
+        return Optional.ofNullable(user);
+    }
+
+    public void evict(Long userId) {
+        usersById.invalidate(userId);
+    }
+
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        usersById.invalidateAll();
+    }
+}
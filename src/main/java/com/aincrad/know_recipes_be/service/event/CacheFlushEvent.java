@@ -0,0 +1,9 @@
+package com.aincrad.know_recipes_be.service.event;
+
+/**
+ * Publicado quando este pod pode ter perdido invalidações de outros pods
+ * (reconexão do LISTEN, lacuna na sequência, fila de envio cheia em outro pod).
+ * Todo cache local de receitas, usuários ou feed deve ser descartado por inteiro.
+ */
+public record CacheFlushEvent(String reason) {
+}
@@ -0,0 +1,10 @@
+package com.aincrad.know_recipes_be.service.event;
+
+import java.util.List;
+
+/**
+ * Payload de um NOTIFY: escritas de um pod, em lote. sequence cresce de um em um
+ * por origin; um salto indica mensagem perdida. flush pede o descarte completo.
+ */
+record InvalidationMessage(String origin, long sequence, boolean flush, List<RecipeChangedEvent> events) {
+}
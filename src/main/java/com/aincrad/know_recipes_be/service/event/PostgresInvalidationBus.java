@@ -0,0 +1,341 @@
+package com.aincrad.know_recipes_be.service.event;
+
+import com.aincrad.know_recipes_be.config.InvalidationBusProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Barramento de invalidação entre pods sobre LISTEN/NOTIFY do PostgreSQL.
+ * <ul>
+ *   <li>envio: cada RecipeChangedEvent, após o commit, entra numa fila limitada; uma
+ *   thread a esvazia e agrupa as escritas em poucos NOTIFY (payload até max-payload-bytes),
+ *   numerados em sequência por origem</li>
+ *   <li>recepção: uma conexão dedicada (fora do pool) faz LISTEN e republica localmente
+ *   as escritas dos outros pods; os ouvintes de sempre (feed, busca, títulos,
+ *   read-your-writes) invalidam o que é deles</li>
+ *   <li>perda: reconexão, salto na sequência de uma origem ou fila cheia na origem geram
+ *   um único CacheFlushEvent, que descarta os caches locais por inteiro; um lote da
+ *   importação em lote (RecipesImportedEvent) também vira flush nos outros pods</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "recipes.invalidation-bus.enabled", havingValue = "true")
+@EnableConfigurationProperties(InvalidationBusProperties.class)
+public class PostgresInvalidationBus {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    // Origens lembradas para detectar lacunas; cada reinício de pod é uma origem nova
+    private static final int MAX_ORIGINS = 1024;
+
+    // Escritas por rodada de envio (a fila pode acumular mais durante uma rajada)
+    private static final int MAX_BATCH = 1_000;
+
+    // Espaço do envelope (origin, sequence, flush) no payload
+    private static final int ENVELOPE_BYTES = 200;
+
+    private final InvalidationBusProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private final String origin;
+    private final BlockingQueue<RecipeChangedEvent> outbox;
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
+    // Só a thread de envio usa
+    private long sequence;
+
+    // Só a thread de recepção usa
+    private final Map<String, Long> lastSequenceByOrigin = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_ORIGINS;
+        }
+    };
+
+    private volatile boolean running;
+    private volatile Thread listenerThread;
+    private Thread senderThread;
+
+    private final Counter sentCounter;
+    private final Counter receivedCounter;
+    private final Counter droppedCounter;
+    private final Counter reconnectCounter;
+
+    public PostgresInvalidationBus(
+        InvalidationBusProperties properties,
+        JdbcTemplate jdbcTemplate,
+        JsonMapper jsonMapper,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry,
+        @Value("${spring.datasource.url}") String url,
+        @Value("${spring.datasource.username:}") String username,
+        @Value("${spring.datasource.password:}") String password,
+        @Value("${k8s.pod-name:local}") String podName
+    ) {
+        if (!CHANNEL.matcher(properties.getChannel()).matches()) {
+            throw new IllegalStateException("recipes.invalidation-bus.channel inválido: " + properties.getChannel());
+        }
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jsonMapper = jsonMapper;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.origin = podName + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.outbox = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        this.sentCounter = Counter.builder("recipes.invalidation.messages").tag("direction", "sent").register(meterRegistry);
+        this.receivedCounter = Counter.builder("recipes.invalidation.messages").tag("direction", "received").register(meterRegistry);
+        this.droppedCounter = Counter.builder("recipes.invalidation.dropped").register(meterRegistry);
+        this.reconnectCounter = Counter.builder("recipes.invalidation.reconnects").register(meterRegistry);
+        Gauge.builder("recipes.invalidation.outbox", outbox, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listenerThread = daemon("invalidation-listener", this::listenLoop);
+        senderThread = daemon("invalidation-sender", this::sendLoop);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (senderThread != null) {
+            senderThread.interrupt();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (Thread.currentThread() == listenerThread) {
+            // Veio de outro pod: já foi propagado
+            return;
+        }
+        if (!outbox.offer(event)) {
+            flushPending.set(true);
+            droppedCounter.increment();
+        }
+    }
+
+    // Os outros pods não têm as receitas do lote: descartam os caches, como numa lacuna
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        flushPending.set(true);
+    }
+
+    // ===== ENVIO =====
+
+    private void sendLoop() {
+        List<RecipeChangedEvent> batch = new ArrayList<>();
+        while (running) {
+            try {
+                RecipeChangedEvent first = outbox.poll(1, TimeUnit.SECONDS);
+                if (first == null && !flushPending.get()) {
+                    continue;
+                }
+                if (first != null) {
+                    batch.add(first);
+                    outbox.drainTo(batch, MAX_BATCH - 1);
+                }
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Escritas não enviadas: os outros pods precisam descartar tudo
+                flushPending.set(true);
+                droppedCounter.increment(batch.size());
+                log.warn("Falha ao enviar invalidações; próximo envio pede flush completo", e);
+                sleepQuietly(properties.getReconnectMinBackoff());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<RecipeChangedEvent> events) {
+        for (String payload : encode(flushPending.getAndSet(false), events)) {
+            jdbcTemplate.query("SELECT pg_notify(?, ?)", ResultSet::next, properties.getChannel(), payload);
+            sentCounter.increment();
+        }
+    }
+
+    /**
+     * Payloads de um envio; um flush dispensa as escritas (os receptores descartam tudo)
+     */
+    List<String> encode(boolean flush, List<RecipeChangedEvent> events) {
+        if (flush) {
+            return List.of(message(true, List.of()));
+        }
+
+        List<String> payloads = new ArrayList<>();
+        List<RecipeChangedEvent> chunk = new ArrayList<>();
+        int chunkBytes = 0;
+        int limit = properties.getMaxPayloadBytes() - ENVELOPE_BYTES;
+        for (RecipeChangedEvent event : events) {
+            int eventBytes = jsonMapper.writeValueAsBytes(event).length + 1;
+            if (!chunk.isEmpty() && chunkBytes + eventBytes > limit) {
+                payloads.add(message(false, chunk));
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
+            }
+            chunk.add(event);
+            chunkBytes += eventBytes;
+        }
+        if (!chunk.isEmpty()) {
+            payloads.add(message(false, chunk));
+        }
+        return payloads;
+    }
+
+    private String message(boolean flush, List<RecipeChangedEvent> events) {
+        return jsonMapper.writeValueAsString(new InvalidationMessage(origin, ++sequence, flush, events));
+    }
+
+    // ===== RECEPÇÃO =====
+
+    private void listenLoop() {
+        Duration backoff = properties.getReconnectMinBackoff();
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                if (listenedBefore) {
+                    // O que foi enviado enquanto estávamos sem conexão se perdeu
+                    flush("reconnect");
+                }
+                listenedBefore = true;
+                backoff = properties.getReconnectMinBackoff();
+                log.info("Barramento de invalidação ouvindo o canal {} como {}", properties.getChannel(), origin);
+
+                int timeoutMillis = (int) properties.getPollTimeout().toMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(timeoutMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("Conexão de LISTEN inválida");
+                        }
+                        continue;
+                    }
+                    // O driver entrega de uma vez tudo o que chegou: o lote é tratado junto
+                    handle(Arrays.stream(notifications).map(PGNotification::getParameter).toList());
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                reconnectCounter.increment();
+                log.warn("Conexão de LISTEN perdida; nova tentativa em {}", backoff, e);
+                sleepQuietly(backoff);
+                backoff = backoff.multipliedBy(2).compareTo(properties.getReconnectMaxBackoff()) > 0
+                    ? properties.getReconnectMaxBackoff()
+                    : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    /**
+     * Republica as escritas de outros pods; se faltar alguma mensagem no lote
+     * (lacuna, payload ilegível, flush pedido pela origem), faz um único flush
+     */
+    void handle(List<String> payloads) {
+        List<RecipeChangedEvent> events = new ArrayList<>();
+        String flushReason = null;
+        for (String payload : payloads) {
+            InvalidationMessage message;
+            try {
+                message = jsonMapper.readValue(payload, InvalidationMessage.class);
+            } catch (JacksonException e) {
+                log.warn("Payload de invalidação ilegível: {}", payload, e);
+                flushReason = "malformed";
+                continue;
+            }
+            if (origin.equals(message.origin())) {
+                continue;
+            }
+
+            receivedCounter.increment();
+            Long last = lastSequenceByOrigin.put(message.origin(), message.sequence());
+            if (last != null && message.sequence() != last + 1) {
+                flushReason = "gap";
+            } else if (message.flush() && flushReason == null) {
+                flushReason = "remote";
+            }
+            events.addAll(message.events());
+        }
+
+        if (flushReason != null) {
+            flush(flushReason);
+            return;
+        }
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private void flush(String reason) {
+        meterRegistry.counter("recipes.invalidation.flushes", "reason", reason).increment();
+        log.info("Flush completo dos caches locais ({})", reason);
+        eventPublisher.publishEvent(new CacheFlushEvent(reason));
+    }
+
+    private static Thread daemon(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.aincrad.know_recipes_be.service.event;
+
+/**
+ * Publicado pelo RecipeService a cada escrita de receita.
+ * Os ouvintes reagem após o commit (@TransactionalEventListener).
+ * title é o título após a escrita (o último conhecido, em DELETED).
+ */
+public record RecipeChangedEvent(
+    Type type,
+    Long recipeId,
+    Long userId,
+    String title,
+    boolean publicBefore,
+    boolean publicAfter
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Verdadeiro se a receita era ou passou a ser pública (feed, busca pública...)
+     */
+    public boolean affectsPublicCatalog() {
+        return publicBefore || publicAfter;
+    }
+}
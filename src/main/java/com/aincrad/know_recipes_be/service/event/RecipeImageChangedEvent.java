@@ -0,0 +1,12 @@
+package com.aincrad.know_recipes_be.service.event;
+
+/**
+ * Imagem local de uma receita trocada ou removida. Após o commit, a nova imagem
+ * (se houver) entra na fila de miniaturas e os arquivos da anterior são apagados.
+ */
+public record RecipeImageChangedEvent(
+    Long recipeId,
+    String imageId,
+    String previousImageId
+) {
+}
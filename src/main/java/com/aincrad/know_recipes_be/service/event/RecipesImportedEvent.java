@@ -0,0 +1,13 @@
+package com.aincrad.know_recipes_be.service.event;
+
+/**
+ * Publicado pela importação em lote, um por lote gravado, no lugar de um
+ * RecipeChangedEvent por receita: os ouvintes invalidam uma vez por lote.
+ * publicCatalog indica se alguma receita do lote é pública.
+ */
+public record RecipesImportedEvent(
+    Long userId,
+    int count,
+    boolean publicCatalog
+) {
+}
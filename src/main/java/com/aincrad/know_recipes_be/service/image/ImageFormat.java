@@ -0,0 +1,53 @@
+package com.aincrad.know_recipes_be.service.image;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formatos aceitos no upload. O formato vem do conteúdo (leitor do ImageIO),
+ * nunca do Content-Type ou do nome enviados pelo cliente.
+ */
+public enum ImageFormat {
+
+    JPEG("jpg", "image/jpeg"),
+    PNG("png", "image/png"),
+    GIF("gif", "image/gif");
+
+    private final String extension;
+    private final String contentType;
+
+    ImageFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String originalFileName() {
+        return "original." + extension;
+    }
+
+    static Optional<ImageFormat> fromReaderFormat(String formatName) {
+        return switch (formatName.toLowerCase(Locale.ROOT)) {
+            case "jpeg", "jpg" -> Optional.of(JPEG);
+            case "png" -> Optional.of(PNG);
+            case "gif" -> Optional.of(GIF);
+            default -> Optional.empty();
+        };
+    }
+
+    static Optional<ImageFormat> fromExtension(String extension) {
+        for (ImageFormat format : values()) {
+            if (format.extension.equals(extension)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+}
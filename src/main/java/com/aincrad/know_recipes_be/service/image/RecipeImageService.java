@@ -0,0 +1,106 @@
+package com.aincrad.know_recipes_be.service.image;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.dto.RecipeImageResponse;
+import com.aincrad.know_recipes_be.exception.RecipeNotFoundException;
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.repository.projection.RecipeVersion;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipeImageChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+
+@Service
+public class RecipeImageService {
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeImageStorage imageStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public RecipeImageService(
+        RecipeRepository recipeRepository,
+        RecipeImageStorage imageStorage,
+        ApplicationEventPublisher eventPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.recipeRepository = recipeRepository;
+        this.imageStorage = imageStorage;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Grava a imagem enviada pelo autor e a associa à receita. O arquivo é gravado
+     * fora de transação (nenhuma conexão presa durante o I/O); as miniaturas são
+     * geradas em segundo plano após o commit.
+     *
+     * @param imagesBaseUrl URL base de /api/images/ como vista pelo cliente
+     */
+    public RecipeImageResponse upload(Long recipeId, MultipartFile file, String imagesBaseUrl) throws IOException {
+        AuthenticatedUser currentUser = AuthenticatedUser.current()
+            .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado"));
+
+        // Dono verificado antes de gravar qualquer coisa no disco
+        RecipeVersion version = recipeRepository.findVersionById(recipeId)
+            .orElseThrow(() -> new RecipeNotFoundException("Receita não encontrada"));
+        checkOwner(version.authorId(), currentUser);
+
+        StoredImage stored = imageStorage.store(file);
+        try {
+            return transactionTemplate.execute(status -> attach(recipeId, currentUser, stored, imagesBaseUrl));
+        } catch (RuntimeException e) {
+            imageStorage.delete(stored.imageId());
+            throw e;
+        }
+    }
+
+    /**
+     * Registra o fim da geração das miniaturas. Ignorado se a receita já trocou
+     * ou removeu a imagem nesse meio tempo.
+     */
+    @Transactional
+    public void completeThumbnails(Long recipeId, String imageId, RecipeImageStatus status) {
+        recipeRepository.findById(recipeId)
+            .filter(recipe -> imageId.equals(recipe.getImageId()))
+            .filter(recipe -> recipe.getImageStatus() == RecipeImageStatus.PENDING)
+            .ifPresent(recipe -> {
+                // updatedAt avança: ETag da receita muda e o feed é recarregado com as miniaturas
+                recipe.setImageStatus(status);
+                boolean isPublic = !recipe.getIsPrivate();
+                eventPublisher.publishEvent(new RecipeChangedEvent(
+                    RecipeChangedEvent.Type.UPDATED, recipe.getId(), recipe.getUser().getId(), recipe.getTitle(), isPublic, isPublic));
+            });
+    }
+
+    private RecipeImageResponse attach(Long recipeId, AuthenticatedUser currentUser, StoredImage stored, String imagesBaseUrl) {
+        Recipe recipe = recipeRepository.findById(recipeId)
+            .orElseThrow(() -> new RecipeNotFoundException("Receita não encontrada"));
+        checkOwner(recipe.getUser().getId(), currentUser);
+
+        String previousImageId = recipe.getImageId();
+        recipe.setImageId(stored.imageId());
+        recipe.setImageStatus(RecipeImageStatus.PENDING);
+        recipe.setImageUrl(imagesBaseUrl + stored.imageId() + "/" + stored.format().originalFileName());
+
+        boolean isPublic = !recipe.getIsPrivate();
+        eventPublisher.publishEvent(new RecipeImageChangedEvent(recipe.getId(), stored.imageId(), previousImageId));
+        eventPublisher.publishEvent(new RecipeChangedEvent(
+            RecipeChangedEvent.Type.UPDATED, recipe.getId(), currentUser.getId(), recipe.getTitle(), isPublic, isPublic));
+        return new RecipeImageResponse(recipe.getId(), recipe.getImageUrl(), recipe.getImageStatus());
+    }
+
+    private void checkOwner(Long authorId, AuthenticatedUser currentUser) {
+        if (!authorId.equals(currentUser.getId())) {
+            throw new IllegalArgumentException("Você não tem permissão para editar esta receita");
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.aincrad.know_recipes_be.service.image;
+
+import com.aincrad.know_recipes_be.config.ImageProperties;
+import com.aincrad.know_recipes_be.dto.ThumbnailUrls;
+import com.aincrad.know_recipes_be.exception.InvalidImageException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Arquivos das imagens no disco: {storage-dir}/{2 primeiros caracteres}/{imageId}/,
+ * com o original e as miniaturas (small.jpg, medium.jpg). Arquivos nunca são
+ * reescritos: uma nova imagem ganha um novo imageId.
+ * Com vários pods (recipes.invalidation-bus.enabled), o diretório precisa ser um volume
+ * compartilhado entre eles (recipes.images.shared-storage=true); sem isso a aplicação não sobe,
+ * porque cada pod só serviria as imagens enviadas a ele.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ImageProperties.class)
+public class RecipeImageStorage {
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{32}");
+
+    private final Path root;
+    private final long maxPixels;
+
+    public RecipeImageStorage(
+        ImageProperties properties,
+        @Value("${recipes.invalidation-bus.enabled:false}") boolean multiplePods
+    ) throws IOException {
+        if (multiplePods && !properties.isSharedStorage()) {
+            throw new IllegalStateException("Com vários pods, recipes.images.storage-dir precisa ser um volume "
+                + "compartilhado entre eles; monte-o e declare recipes.images.shared-storage=true");
+        }
+        this.root = Path.of(properties.getStorageDir()).toAbsolutePath().normalize();
+        this.maxPixels = properties.getMaxPixels();
+        Files.createDirectories(root);
+    }
+
+    /**
+     * Grava o upload e valida formato e dimensões pelo conteúdo. O arquivo
+     * temporário do multipart é movido (rename) em vez de copiado quando possível.
+     *
+     * @throws InvalidImageException se não for uma imagem suportada
+     */
+    public StoredImage store(MultipartFile file) throws IOException {
+        String imageId = UUID.randomUUID().toString().replace("-", "");
+        Path directory = directory(imageId);
+        Files.createDirectories(directory);
+        try {
+            Path upload = directory.resolve("upload.tmp");
+            file.transferTo(upload);
+            ImageFormat format = inspect(upload);
+            Files.move(upload, directory.resolve(format.originalFileName()), StandardCopyOption.ATOMIC_MOVE);
+            return new StoredImage(imageId, format);
+        } catch (IOException | RuntimeException e) {
+            delete(imageId);
+            throw e;
+        }
+    }
+
+    public Optional<Path> findOriginal(String imageId) {
+        if (!IMAGE_ID.matcher(imageId).matches()) {
+            return Optional.empty();
+        }
+        Path directory = directory(imageId);
+        for (ImageFormat format : ImageFormat.values()) {
+            Path original = directory.resolve(format.originalFileName());
+            if (Files.exists(original)) {
+                return Optional.of(original);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Path thumbnail(String imageId, String fileName) {
+        return directory(imageId).resolve(fileName);
+    }
+
+    /**
+     * Caminho de um arquivo servível (original ou miniatura). Só nomes conhecidos
+     * e imageIds hexadecimais são aceitos, então não há como sair do diretório.
+     */
+    public Optional<Path> resolve(String imageId, String fileName) {
+        if (!IMAGE_ID.matcher(imageId).matches() || contentType(fileName) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(directory(imageId).resolve(fileName));
+    }
+
+    /**
+     * @return Content-Type do arquivo, ou null se o nome não é servível
+     */
+    public String contentType(String fileName) {
+        if (ThumbnailUrls.SMALL_FILE.equals(fileName) || ThumbnailUrls.MEDIUM_FILE.equals(fileName)) {
+            return ImageFormat.JPEG.getContentType();
+        }
+        if (fileName.startsWith("original.")) {
+            return ImageFormat.fromExtension(fileName.substring("original.".length()))
+                .map(ImageFormat::getContentType)
+                .orElse(null);
+        }
+        return null;
+    }
+
+    public void delete(String imageId) {
+        if (!IMAGE_ID.matcher(imageId).matches()) {
+            return;
+        }
+        try {
+            FileSystemUtils.deleteRecursively(directory(imageId));
+        } catch (IOException e) {
+            log.warn("Não foi possível apagar a imagem {}: {}", imageId, e.getMessage());
+        }
+    }
+
+    private Path directory(String imageId) {
+        return root.resolve(imageId.substring(0, 2)).resolve(imageId);
+    }
+
+    private ImageFormat inspect(Path upload) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(upload.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidImageException("Arquivo não é uma imagem suportada");
+            }
+            ImageReader reader = readers.next();
+            try {
+                ImageFormat format = ImageFormat.fromReaderFormat(reader.getFormatName())
+                    .orElseThrow(() -> new InvalidImageException("Formato de imagem não suportado"));
+                // Só o cabeçalho é lido aqui: dimensões conferidas antes de qualquer decodificação
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new InvalidImageException("Imagem excede o tamanho máximo permitido");
+                }
+                return format;
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidImageException("Imagem corrompida ou ilegível");
+        }
+    }
+}
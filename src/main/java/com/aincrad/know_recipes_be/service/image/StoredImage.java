@@ -0,0 +1,7 @@
+package com.aincrad.know_recipes_be.service.image;
+
+/**
+ * Original gravado no disco após um upload válido
+ */
+public record StoredImage(String imageId, ImageFormat format) {
+}
@@ -0,0 +1,194 @@
+package com.aincrad.know_recipes_be.service.image;
+
+import com.aincrad.know_recipes_be.config.ImageProperties;
+import com.aincrad.know_recipes_be.dto.ThumbnailUrls;
+import com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.repository.projection.PendingImage;
+import com.aincrad.know_recipes_be.service.event.RecipeImageChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gera as miniaturas em segundo plano, em um pool pequeno com fila limitada.
+ * Com a fila cheia a imagem fica PENDING e é retomada do banco assim que a
+ * fila esvazia (ou na próxima inicialização); o upload nunca espera por isso.
+ * <p>
+ * Os originais ficam em recipes.images.storage-dir, que com vários pods é um volume
+ * compartilhado (exigido na subida por {@link RecipeImageStorage}). Ainda assim, cada pod
+ * só processa as pendentes cujo original encontra; as demais continuam PENDING.
+ */
+@Slf4j
+@Component
+public class ThumbnailPipeline {
+
+    private final RecipeImageStorage imageStorage;
+    private final RecipeImageService imageService;
+    private final RecipeRepository recipeRepository;
+    private final ImageProperties.Thumbnails settings;
+    private final ThreadPoolExecutor executor;
+
+    // Pendentes lidas por consulta ao retomar
+    private static final int RESUME_PAGE_SIZE = 500;
+
+    // Imagens na fila ou em processamento, para não enfileirar a mesma duas vezes
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean backlog = new AtomicBoolean();
+
+    private final Timer readyTimer;
+    private final Timer failedTimer;
+    private final Counter rejectedCounter;
+
+    public ThumbnailPipeline(
+        RecipeImageStorage imageStorage,
+        RecipeImageService imageService,
+        RecipeRepository recipeRepository,
+        ImageProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        this.imageStorage = imageStorage;
+        this.imageService = imageService;
+        this.recipeRepository = recipeRepository;
+        this.settings = properties.getThumbnails();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            settings.getThreads(),
+            settings.getThreads(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "thumbnail-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.readyTimer = Timer.builder("recipes.images.thumbnails").tag("result", "ready").register(meterRegistry);
+        this.failedTimer = Timer.builder("recipes.images.thumbnails").tag("result", "failed").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("recipes.images.thumbnails.rejected").register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "image-thumbnails", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageChanged(RecipeImageChangedEvent event) {
+        if (event.previousImageId() != null) {
+            imageStorage.delete(event.previousImageId());
+        }
+        if (event.imageId() != null) {
+            submit(new PendingImage(event.recipeId(), event.imageId()));
+        }
+    }
+
+    /**
+     * Retoma imagens que ficaram PENDING (fila cheia ou aplicação reiniciada no meio),
+     * só as que têm o original neste pod
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        long afterId = 0;
+        while (executor.getQueue().remainingCapacity() > 0) {
+            List<PendingImage> page = recipeRepository.findPendingImagesAfter(afterId, Limit.of(RESUME_PAGE_SIZE));
+            for (PendingImage image : page) {
+                if (imageStorage.findOriginal(image.imageId()).isPresent() && !submit(image)) {
+                    return;
+                }
+            }
+            if (page.size() < RESUME_PAGE_SIZE) {
+                return;
+            }
+            afterId = page.get(page.size() - 1).recipeId();
+        }
+        backlog.set(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private boolean submit(PendingImage image) {
+        if (!inFlight.add(image.imageId())) {
+            return true;
+        }
+        try {
+            executor.execute(() -> process(image));
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(image.imageId());
+            backlog.set(true);
+            rejectedCounter.increment();
+            log.warn("Fila de miniaturas cheia; imagem {} da receita {} fica pendente", image.imageId(), image.recipeId());
+            return false;
+        }
+    }
+
+    private void process(PendingImage image) {
+        long start = System.nanoTime();
+        RecipeImageStatus status = render(image.imageId());
+        try {
+            if (status == null) {
+                // Original fora deste disco (trocada/apagada antes da vez dela, ou de outro pod): fica como está
+                log.debug("Original da imagem {} não está neste pod", image.imageId());
+            } else {
+                (status == RecipeImageStatus.READY ? readyTimer : failedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                imageService.completeThumbnails(image.recipeId(), image.imageId(), status);
+            }
+        } catch (RuntimeException e) {
+            // Fica PENDING e é retomada depois
+            log.warn("Não foi possível registrar as miniaturas da receita {}: {}", image.recipeId(), e.getMessage());
+        } finally {
+            inFlight.remove(image.imageId());
+        }
+
+        if (executor.getQueue().isEmpty() && backlog.compareAndSet(true, false)) {
+            resumePending();
+        }
+    }
+
+    /**
+     * READY ou FAILED (original ilegível); null se o original não está neste disco
+     */
+    private RecipeImageStatus render(String imageId) {
+        Optional<Path> original = imageStorage.findOriginal(imageId);
+        if (original.isEmpty()) {
+            return null;
+        }
+        try {
+            // Decodifica uma vez; a pequena sai da média, não do original
+            BufferedImage source = ThumbnailRenderer.read(original.get(), settings.getMediumSize());
+            BufferedImage medium = ThumbnailRenderer.fit(source, settings.getMediumSize());
+            ThumbnailRenderer.writeJpeg(medium, imageStorage.thumbnail(imageId, ThumbnailUrls.MEDIUM_FILE), settings.getJpegQuality());
+            BufferedImage small = ThumbnailRenderer.fit(medium, settings.getSmallSize());
+            ThumbnailRenderer.writeJpeg(small, imageStorage.thumbnail(imageId, ThumbnailUrls.SMALL_FILE), settings.getJpegQuality());
+            return RecipeImageStatus.READY;
+        } catch (Exception e) {
+            log.warn("Falha ao gerar miniaturas da imagem {}: {}", imageId, e.getMessage());
+            return RecipeImageStatus.FAILED;
+        }
+    }
+}
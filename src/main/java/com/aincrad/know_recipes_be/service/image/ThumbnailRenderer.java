@@ -0,0 +1,108 @@
+package com.aincrad.know_recipes_be.service.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * Decodificação reduzida, redimensionamento e gravação em JPEG das miniaturas.
+ */
+final class ThumbnailRenderer {
+
+    private ThumbnailRenderer() {
+    }
+
+    /**
+     * Decodifica lendo só 1 a cada N pixels (subsampling do ImageIO), o bastante para
+     * a maior miniatura: uma foto de 24MP não vira um bitmap de ~100MB em memória
+     */
+    static BufferedImage read(Path file, int maxSide) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("Formato de imagem não suportado: " + file);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longestSide / (2 * maxSide));
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduz para caber em maxSide x maxSide (nunca amplia), em RGB com fundo branco
+     */
+    static BufferedImage fit(BufferedImage source, int maxSide) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSide / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        // Reduções sucessivas pela metade antes do passo final: bilinear direto
+        // de uma imagem muito maior descarta pixels e serrilha
+        BufferedImage current = source;
+        while (width / 2 >= targetWidth && height / 2 >= targetHeight) {
+            width /= 2;
+            height /= 2;
+            current = draw(current, width, height);
+        }
+        return draw(current, targetWidth, targetHeight);
+    }
+
+    static void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        // Grava ao lado e renomeia: quem está servindo nunca vê um arquivo pela metade
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temporary.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // JPEG não tem transparência: fundo branco para PNG/GIF transparentes
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
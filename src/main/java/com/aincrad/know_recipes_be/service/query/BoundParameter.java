@@ -0,0 +1,38 @@
+package com.aincrad.know_recipes_be.service.query;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Chamada setXxx(índice, valor, ...) feita em um PreparedStatement, guardada para ser
+ * repetida no EXPLAIN com os mesmos valores. Streams e readers só podem ser lidos
+ * uma vez, então statements com eles não são repetidos.
+ */
+public record BoundParameter(Method setter, Object[] args) {
+
+    public boolean isReplayable() {
+        for (Object arg : args) {
+            if (arg instanceof InputStream || arg instanceof Reader) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void applyTo(PreparedStatement statement) throws SQLException {
+        try {
+            setter.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Falha ao repetir " + setter.getName(), e.getTargetException());
+        } catch (IllegalAccessException e) {
+            throw new SQLException("Falha ao repetir " + setter.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.aincrad.know_recipes_be.service.query;
+
+import com.aincrad.know_recipes_be.config.QueryInsightsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estatísticas por statement normalizado, alimentadas pelo proxy JDBC
+ * ({@link com.aincrad.know_recipes_be.config.QueryInsightsDataSource}): latência
+ * (histograma), linhas e erros, mais o ranking das execuções mais lentas da janela.
+ * <p>
+ * SELECTs acima de recipes.query-insights.explain.threshold são repetidos com
+ * EXPLAIN (ANALYZE, BUFFERS) em uma thread própria, fora da requisição, com os mesmos
+ * parâmetros, em transação read-only revertida e com statement_timeout. Cada statement
+ * é explicado no máximo uma vez por min-interval e a fila é limitada: o EXPLAIN nunca
+ * vira carga relevante no banco.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(QueryInsightsProperties.class)
+public class QueryInsights {
+
+    static final String OVERFLOW_ID = "outros";
+
+    private static final int MAX_PLAN_LENGTH = 64 * 1024;
+
+    private final QueryInsightsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StatementStats> byNormalizedSql = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> byId = new ConcurrentHashMap<>();
+    // SQL como veio do Hibernate/JdbcTemplate -> estatística (evita normalizar a cada execução)
+    private final Map<String, StatementStats> byRawSql = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Clock clock = Clock.systemUTC();
+    private final StatementStats overflow = new StatementStats(OVERFLOW_ID, "<demais statements>", "other");
+    private final SlowestExecutions slowest;
+    private final ThreadPoolExecutor explainExecutor;
+    private final Counter explainsCaptured;
+    private final Counter explainsFailed;
+    private final Counter explainsDiscarded;
+
+    public QueryInsights(QueryInsightsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.slowest = new SlowestExecutions(properties.getTopN(), properties.getTopNWindow(), clock);
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getExplain().getQueueCapacity()),
+            runnable -> {
+                Thread thread = new Thread(runnable, "query-explain");
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> discarded());
+        this.explainsCaptured = explainCounter("captured");
+        this.explainsFailed = explainCounter("failed");
+        this.explainsDiscarded = explainCounter("discarded");
+        Gauge.builder("recipes.db.statements.tracked", byNormalizedSql, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Chamado pelo proxy ao fim de cada execução (para consultas, quando o ResultSet é fechado)
+     *
+     * @param parameters parâmetros do PreparedStatement, para repetir no EXPLAIN
+     * @param source     DataSource sem o proxy, de onde sai a conexão do EXPLAIN
+     */
+    public void record(String sql, long nanos, long rows, boolean failed,
+                       List<BoundParameter> parameters, DataSource source) {
+        StatementStats stats = statsFor(sql);
+        stats.record(nanos, rows, failed);
+        timers.computeIfAbsent(stats.getCommand(), command -> Timer.builder("recipes.db.statement.duration")
+                .description("Execuções de statements JDBC (da execução ao fechamento do ResultSet)")
+                .tag("command", command)
+                .register(meterRegistry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+        if (failed) {
+            return;
+        }
+
+        double durationMs = StatementStats.toMillis(nanos);
+        slowest.offer(new SlowestExecutions.SlowExecution(stats.getId(), stats.getSql(), durationMs, rows, clock.instant()));
+
+        QueryInsightsProperties.Explain explain = properties.getExplain();
+        if (explain.isEnabled()
+            && nanos >= explain.getThreshold().toNanos()
+            && stats != overflow
+            && SqlNormalizer.isReadOnlyQuery(stats.getSql())
+            && parameters.stream().allMatch(BoundParameter::isReplayable)
+            && stats.tryClaimExplain(System.nanoTime(), explain.getMinInterval())) {
+            List<BoundParameter> captured = List.copyOf(parameters);
+            explainExecutor.execute(() -> explain(stats, sql, captured, durationMs, source));
+        }
+    }
+
+    public Report report(int limit) {
+        List<StatementStats.Snapshot> statements = byNormalizedSql.values().stream()
+            .sorted(Comparator.comparingLong(StatementStats::getTotalNanos).reversed())
+            .limit(limit)
+            .map(StatementStats::snapshot)
+            .toList();
+        StatementStats.Snapshot others = overflow.snapshot();
+        return new Report(byNormalizedSql.size(), slowest.snapshot(), statements,
+            others.calls() == 0 ? null : others);
+    }
+
+    public Detail detail(String id) {
+        StatementStats stats = OVERFLOW_ID.equals(id) ? overflow : byId.get(id);
+        return stats == null ? null : new Detail(stats.snapshot(), stats.getLastPlan());
+    }
+
+    public void reset() {
+        byRawSql.clear();
+        byNormalizedSql.clear();
+        byId.clear();
+        slowest.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private StatementStats statsFor(String sql) {
+        StatementStats cached = byRawSql.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = SqlNormalizer.normalize(sql, properties.getMaxSqlLength());
+        StatementStats stats = byNormalizedSql.get(normalized);
+        if (stats == null) {
+            if (byNormalizedSql.size() >= properties.getMaxStatements()) {
+                return overflow;
+            }
+            stats = byNormalizedSql.computeIfAbsent(normalized, key -> {
+                StatementStats created = new StatementStats(fingerprint(key), key, SqlNormalizer.command(key));
+                byId.put(created.getId(), created);
+                return created;
+            });
+        }
+        // SQL com literais gera textos brutos sem fim; o índice bruto tem o mesmo teto (x4)
+        if (byRawSql.size() < properties.getMaxStatements() * 4) {
+            byRawSql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    private void explain(StatementStats stats, String sql, List<BoundParameter> parameters,
+                         double triggeringMs, DataSource source) {
+        try (Connection connection = source.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (Statement setup = connection.createStatement()) {
+                    setup.execute("SET TRANSACTION READ ONLY");
+                    setup.execute("SET LOCAL statement_timeout = "
+                        + properties.getExplain().getStatementTimeout().toMillis());
+                }
+                String plan;
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                    for (BoundParameter parameter : parameters) {
+                        parameter.applyTo(statement);
+                    }
+                    plan = readPlan(statement);
+                }
+                stats.setLastPlan(new StatementStats.QueryPlan(clock.instant(), triggeringMs, plan));
+                explainsCaptured.increment();
+                log.info("Plano capturado para o statement {} ({} ms)", stats.getId(), triggeringMs);
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | RuntimeException e) {
+            explainsFailed.increment();
+            log.warn("Falha no EXPLAIN do statement {}: {}", stats.getId(), e.getMessage());
+        }
+    }
+
+    private static String readPlan(PreparedStatement statement) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next() && plan.length() < MAX_PLAN_LENGTH) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private void discarded() {
+        explainsDiscarded.increment();
+    }
+
+    private Counter explainCounter(String result) {
+        return Counter.builder("recipes.db.explains")
+            .description("EXPLAIN (ANALYZE, BUFFERS) de consultas lentas")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Id curto e estável do statement normalizado (FNV-1a de 64 bits, em hexadecimal)
+     */
+    static String fingerprint(String normalized) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+    /**
+     * @param tracked    statements normalizados distintos acompanhados
+     * @param slowest    execuções mais lentas da janela, da mais lenta para a mais rápida
+     * @param statements statements com mais tempo acumulado
+     * @param others     execuções somadas depois de atingido max-statements
+     */
+    public record Report(
+        int tracked,
+        List<SlowestExecutions.SlowExecution> slowest,
+        List<StatementStats.Snapshot> statements,
+        StatementStats.Snapshot others
+    ) {
+    }
+
+    public record Detail(StatementStats.Snapshot stats, StatementStats.QueryPlan plan) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.aincrad.know_recipes_be.service.query;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * As N execuções mais lentas da janela recente (ex.: últimos 15 minutos).
+ * Um heap mínimo guarda as N maiores; o piso (a menor delas) fica em campo volátil
+ * para que as execuções rápidas, quase todas, sejam descartadas sem pegar o lock.
+ */
+public final class SlowestExecutions {
+
+    private final int capacity;
+    private final long windowMillis;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<SlowExecution> heap =
+        new PriorityQueue<>(Comparator.comparingDouble(SlowExecution::durationMs));
+
+    /**
+     * Duração mínima para entrar no ranking, válida até floorValidUntil
+     * (quando a execução mais antiga sai da janela, o piso pode cair)
+     */
+    private volatile double floorMs;
+    private volatile long floorValidUntil;
+
+    SlowestExecutions(int capacity, Duration window, Clock clock) {
+        this.capacity = capacity;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    void offer(SlowExecution execution) {
+        if (execution.durationMs() <= floorMs && clock.millis() < floorValidUntil) {
+            return;
+        }
+        lock.lock();
+        try {
+            evictExpired();
+            if (heap.size() < capacity) {
+                heap.add(execution);
+            } else if (execution.durationMs() > heap.peek().durationMs()) {
+                heap.poll();
+                heap.add(execution);
+            }
+            updateFloor();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Da mais lenta para a mais rápida
+     */
+    List<SlowExecution> snapshot() {
+        lock.lock();
+        try {
+            evictExpired();
+            updateFloor();
+            return heap.stream()
+                .sorted(Comparator.comparingDouble(SlowExecution::durationMs).reversed())
+                .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            heap.clear();
+            updateFloor();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictExpired() {
+        long oldestAllowed = clock.millis() - windowMillis;
+        heap.removeIf(execution -> execution.executedAt().toEpochMilli() < oldestAllowed);
+    }
+
+    private void updateFloor() {
+        if (heap.size() < capacity) {
+            floorMs = 0;
+            floorValidUntil = 0;
+            return;
+        }
+        long oldest = Long.MAX_VALUE;
+        for (SlowExecution execution : heap) {
+            oldest = Math.min(oldest, execution.executedAt().toEpochMilli());
+        }
+        floorMs = heap.peek().durationMs();
+        floorValidUntil = oldest + windowMillis;
+    }
+
+    /**
+     * Uma execução individual; parâmetros não são guardados (podem conter dados pessoais)
+     */
+    public record SlowExecution(String statementId, String sql, double durationMs, long rows, Instant executedAt) {
+    }
+}
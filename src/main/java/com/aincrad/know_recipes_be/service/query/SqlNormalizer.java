@@ -0,0 +1,117 @@
+package com.aincrad.know_recipes_be.service.query;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduz o SQL à sua forma "normalizada": literais viram ?, comentários somem,
+ * espaços são colapsados e listas IN (?, ?, ...) de qualquer tamanho viram IN (?).
+ * Assim a mesma consulta com parâmetros diferentes (ou com o padding do IN)
+ * acumula estatísticas em uma única entrada.
+ */
+final class SqlNormalizer {
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin ?\\(\\?(?: ?, ?\\?)*\\)");
+
+    private SqlNormalizer() {
+    }
+
+    static String normalize(String sql, int maxLength) {
+        StringBuilder out = new StringBuilder(Math.min(sql.length(), maxLength + 16));
+        int length = sql.length();
+        int i = 0;
+        while (i < length && out.length() <= maxLength) {
+            char c = sql.charAt(i);
+            if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                appendSpace(out);
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+                appendSpace(out);
+            } else if (c == '\'') {
+                // Literal de texto ('' é aspas escapada)
+                i++;
+                while (i < length) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                out.append('?');
+            } else if (Character.isDigit(c) && !partOfIdentifier(out)) {
+                while (i < length && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(out);
+                i++;
+            } else if (c == ',' || c == ')') {
+                trimSpace(out);
+                out.append(c);
+                i++;
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        trimSpace(out);
+        String normalized = IN_LIST.matcher(out).replaceAll("in (?)");
+        return normalized.length() > maxLength ? normalized.substring(0, maxLength) : normalized;
+    }
+
+    /**
+     * SELECT (ou WITH sem escrita) pode ser repetido com EXPLAIN ANALYZE sem efeitos colaterais.
+     * Sequências (nextval/setval) avançariam mesmo em transação read-only revertida
+     */
+    static boolean isReadOnlyQuery(String normalized) {
+        String lower = normalized.toLowerCase();
+        if (lower.contains("nextval(") || lower.contains("setval(")) {
+            return false;
+        }
+        if (lower.startsWith("select ")) {
+            return !lower.contains(" for update") && !lower.contains(" for share")
+                && !lower.contains(" for no key update");
+        }
+        return lower.startsWith("with ")
+            && !lower.contains("insert ") && !lower.contains("update ") && !lower.contains("delete ");
+    }
+
+    /**
+     * Comando SQL (select, insert, update, delete...), usado como tag das métricas
+     */
+    static String command(String normalized) {
+        int end = normalized.indexOf(' ');
+        String command = (end < 0 ? normalized : normalized.substring(0, end)).toLowerCase();
+        return switch (command) {
+            case "select", "with", "insert", "update", "delete" -> command;
+            default -> "other";
+        };
+    }
+
+    private static boolean partOfIdentifier(StringBuilder out) {
+        if (out.isEmpty()) {
+            return false;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(previous) || previous == '_' || previous == '$' || previous == '"';
+    }
+
+    private static void appendSpace(StringBuilder out) {
+        if (!out.isEmpty() && out.charAt(out.length() - 1) != ' ' && out.charAt(out.length() - 1) != '(') {
+            out.append(' ');
+        }
+    }
+
+    private static void trimSpace(StringBuilder out) {
+        if (!out.isEmpty() && out.charAt(out.length() - 1) == ' ') {
+            out.setLength(out.length() - 1);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.aincrad.know_recipes_be.service.query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas acumuladas de um statement normalizado: chamadas, erros, linhas,
+ * tempo total/máximo e um histograma de latência em buckets fixos
+ * (percentis aproximados pelo limite superior do bucket).
+ */
+public final class StatementStats {
+
+    /**
+     * Limites superiores dos buckets, em milissegundos; o último bucket é "acima de 10s"
+     */
+    static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+    private final String id;
+    private final String sql;
+    private final String command;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MS.length + 1];
+    private final AtomicLong lastExplainRequest = new AtomicLong(Long.MIN_VALUE);
+    private volatile QueryPlan lastPlan;
+
+    StatementStats(String id, String sql, String command) {
+        this.id = id;
+        this.sql = sql;
+        this.command = command;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos, long rowCount, boolean failed) {
+        calls.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (failed) {
+            errors.increment();
+        } else if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        buckets[bucketOf(nanos)].increment();
+    }
+
+    /**
+     * Reserva o direito de rodar EXPLAIN: no máximo uma vez por intervalo por statement
+     */
+    boolean tryClaimExplain(long nowNanos, Duration minInterval) {
+        long last = lastExplainRequest.get();
+        if (last != Long.MIN_VALUE && nowNanos - last < minInterval.toNanos()) {
+            return false;
+        }
+        return lastExplainRequest.compareAndSet(last, nowNanos);
+    }
+
+    void setLastPlan(QueryPlan plan) {
+        this.lastPlan = plan;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    String getCommand() {
+        return command;
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    QueryPlan getLastPlan() {
+        return lastPlan;
+    }
+
+    Snapshot snapshot() {
+        long count = calls.sum();
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        long total = totalNanos.sum();
+        List<Bucket> histogram = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                histogram.add(new Bucket(i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : null, counts[i]));
+            }
+        }
+        QueryPlan plan = lastPlan;
+        return new Snapshot(
+            id,
+            sql,
+            count,
+            errors.sum(),
+            rows.sum(),
+            toMillis(total),
+            count == 0 ? 0 : toMillis(total / count),
+            percentile(counts, count, 0.50),
+            percentile(counts, count, 0.95),
+            percentile(counts, count, 0.99),
+            toMillis(maxNanos.get()),
+            histogram,
+            plan == null ? null : plan.capturedAt());
+    }
+
+    private static int bucketOf(long nanos) {
+        long millis = nanos / 1_000_000;
+        for (int i = 0; i < BUCKET_BOUNDS_MS.length; i++) {
+            if (millis < BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MS.length;
+    }
+
+    /**
+     * Limite superior (ms) do bucket onde cai o percentil; null quando cai no último bucket (acima de 10s)
+     */
+    private static Long percentile(long[] counts, long total, double quantile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : null;
+            }
+        }
+        return null;
+    }
+
+    static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    /**
+     * @param upperBoundMs limite superior do bucket (exclusivo); null = acima do último limite
+     */
+    public record Bucket(Long upperBoundMs, long count) {
+    }
+
+    public record Snapshot(
+        String id,
+        String sql,
+        long calls,
+        long errors,
+        long rows,
+        double totalMs,
+        double meanMs,
+        Long p50Ms,
+        Long p95Ms,
+        Long p99Ms,
+        double maxMs,
+        List<Bucket> histogram,
+        Instant planCapturedAt
+    ) {
+    }
+
+    /**
+     * Plano capturado com EXPLAIN (ANALYZE, BUFFERS) a partir de uma execução lenta
+     */
+    public record QueryPlan(Instant capturedAt, double triggeringMs, String plan) {
+    }
+}
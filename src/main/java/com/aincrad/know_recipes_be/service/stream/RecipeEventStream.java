@@ -0,0 +1,441 @@
+package com.aincrad.know_recipes_be.service.stream;
+
+import com.aincrad.know_recipes_be.config.RecipeStreamProperties;
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.service.event.CacheFlushEvent;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Stream SSE das novidades do catálogo público, no lugar do polling do feed.
+ * <p>
+ * As escritas chegam pelos RecipeChangedEvent após o commit (deste pod ou, com o
+ * barramento de invalidação, dos outros) e vão para uma fila; uma thread as junta
+ * em lotes, carrega as receitas num único SELECT e serializa cada evento uma vez.
+ * O quadro pronto vai para a fila limitada de cada cliente (StreamSubscriber).
+ * <p>
+ * As conexões são assíncronas (SseEmitter): a thread da requisição volta ao Tomcat
+ * logo após o subscribe e um cliente ocioso custa só o socket e a fila. Os últimos
+ * replay-size eventos ficam num buffer circular para retomar pelo Last-Event-ID;
+ * quem não puder ser retomado recebe "reset" e recarrega o feed.
+ * <p>
+ * Uma escrita que passa de send-timeout (cliente que parou de ler, TCP cheio) tira o
+ * cliente do stream e o pool de envio ganha uma thread no lugar da que ficou presa,
+ * até max-sender-threads; ela é devolvida quando a escrita termina (no timeout de
+ * escrita do Tomcat, server.tomcat.connection-timeout). Os demais clientes não esperam.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RecipeStreamProperties.class)
+public class RecipeEventStream {
+
+    static final String CREATED = "recipe.created";
+    static final String UPDATED = "recipe.updated";
+    static final String REMOVED = "recipe.removed";
+    static final String RESET = "reset";
+
+    // Intervalo sugerido ao EventSource para reconectar
+    private static final long RECONNECT_MILLIS = 3_000;
+
+    private static final int MAX_BATCH = 500;
+    private static final int PENDING_CAPACITY = 10_000;
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("ping").build();
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final RecipeStreamProperties properties;
+
+    // Identifica esta execução do pod nos ids dos eventos: um Last-Event-ID de antes
+    // de um restart (ou de outro pod) não é retomável e recebe reset
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final BlockingQueue<RecipeChangedEvent> pending = new ArrayBlockingQueue<>(PENDING_CAPACITY);
+    private final AtomicBoolean resetPending = new AtomicBoolean();
+
+    private final Set<StreamSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Sequência, buffer circular e inscrição de novos clientes andam juntos: quem se
+    // inscreve recebe o que perdeu e nenhum evento publicado nesse meio tempo escapa
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final StreamEvent[] replay;
+    private long sequence;
+
+    private final ThreadPoolExecutor senders;
+    // Threads emprestadas ao pool no lugar das presas em escritas travadas (guardado por this)
+    private int borrowedSenders;
+    private final ScheduledExecutorService heartbeats;
+    private volatile Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter rejectedCounter;
+    private final Counter resetCounter;
+    private final Counter stalledCounter;
+
+    public RecipeEventStream(
+        RecipeRepository recipeRepository,
+        PlatformTransactionManager transactionManager,
+        JsonMapper jsonMapper,
+        MeterRegistry meterRegistry,
+        RecipeStreamProperties properties
+    ) {
+        this.recipeRepository = recipeRepository;
+        // Primário (transação de escrita): o evento chega logo após o commit e uma
+        // réplica atrasada ainda não teria a receita
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        this.replay = new StreamEvent[properties.getReplaySize()];
+
+        AtomicInteger senderCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(properties.getSenderThreads(), properties.getSenderThreads(),
+            30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "recipe-stream-" + senderCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recipe-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("recipes.stream.clients", subscribers, Set::size).register(meterRegistry);
+        this.publishedCounter = Counter.builder("recipes.stream.events").register(meterRegistry);
+        this.droppedCounter = Counter.builder("recipes.stream.dropped").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("recipes.stream.rejected").register(meterRegistry);
+        this.resetCounter = Counter.builder("recipes.stream.resets").register(meterRegistry);
+        this.stalledCounter = Counter.builder("recipes.stream.stalled").register(meterRegistry);
+        Gauge.builder("recipes.stream.senders.borrowed", this, RecipeEventStream::borrowedSenders).register(meterRegistry);
+    }
+
+    /**
+     * Abre uma conexão do stream, retomando depois de lastEventId quando possível
+     *
+     * @return vazio se o pod já está no limite de conexões
+     */
+    public Optional<SseEmitter> subscribe(String lastEventId) {
+        if (subscribers.size() >= properties.getMaxClients()) {
+            rejectedCounter.increment();
+            return Optional.empty();
+        }
+        return Optional.of(subscribe(lastEventId, new SseEmitter(properties.getConnectionTimeout().toMillis())));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        StreamSubscriber subscriber = new StreamSubscriber(emitter, properties.getClientBuffer(), senders,
+            subscribers::remove, stalledSubscriber -> returnSender());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Primeiro quadro já envia os cabeçalhos: o cliente sabe que está conectado
+        subscriber.offer(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("conectado").build());
+
+        publishLock.lock();
+        try {
+            List<StreamEvent> missed = missedSince(lastEventId);
+            if (missed == null || missed.size() >= properties.getClientBuffer()) {
+                resetCounter.increment();
+                subscriber.offer(resetFrame());
+            } else {
+                missed.forEach(event -> subscriber.offer(event.frame()));
+            }
+            subscribers.add(subscriber);
+        } finally {
+            publishLock.unlock();
+        }
+        return emitter;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::dispatchLoop, "recipe-stream-dispatcher");
+        thread.setDaemon(true);
+        thread.start();
+        dispatcher = thread;
+
+        long heartbeatMillis = properties.getHeartbeat().toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(100, properties.getSendTimeout().toMillis() / 2);
+        heartbeats.scheduleAtFixedRate(this::dropStalledSubscribers, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (event.affectsPublicCatalog() && !pending.offer(event)) {
+            // Fila cheia: em vez de perder escritas em silêncio, os clientes recarregam
+            resetPending.set(true);
+        }
+    }
+
+    // Um lote importado não vira centenas de eventos: os clientes recarregam o feed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        if (event.publicCatalog()) {
+            resetPending.set(true);
+        }
+    }
+
+    // Escritas de outros pods podem ter se perdido: os clientes recarregam o feed
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        resetPending.set(true);
+    }
+
+    // Antes do desligamento gracioso do Tomcat, que esperaria as conexões abertas até
+    // o timeout; os clientes reconectam em outro pod
+    @EventListener(ContextClosedEvent.class)
+    public void closeConnections() {
+        running = false;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        subscribers.forEach(StreamSubscriber::close);
+        subscribers.clear();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        closeConnections();
+        heartbeats.shutdownNow();
+        senders.shutdown();
+    }
+
+    private void dispatchLoop() {
+        List<RecipeChangedEvent> batch = new ArrayList<>();
+        while (running) {
+            try {
+                RecipeChangedEvent first = pending.poll(1, TimeUnit.SECONDS);
+                if (resetPending.getAndSet(false)) {
+                    publish(List.of(new OutgoingEvent(RESET, "{}")));
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch, MAX_BATCH - 1);
+                publish(toOutgoing(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Falha ao publicar {} alterações no stream; clientes vão recarregar", batch.size(), e);
+                resetPending.set(true);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Um evento por receita (a última escrita do lote vence), com os dados atuais
+     * lidos num único SELECT; receita que saiu do catálogo público vira recipe.removed
+     */
+    List<OutgoingEvent> toOutgoing(List<RecipeChangedEvent> batch) {
+        Map<Long, RecipeChangedEvent> latest = new LinkedHashMap<>();
+        Map<Long, Boolean> wasPublic = new LinkedHashMap<>();
+        for (RecipeChangedEvent event : batch) {
+            latest.remove(event.recipeId());
+            latest.put(event.recipeId(), event);
+            wasPublic.putIfAbsent(event.recipeId(), event.publicBefore());
+        }
+
+        List<Long> visible = latest.values().stream()
+            .filter(RecipeChangedEvent::publicAfter)
+            .map(RecipeChangedEvent::recipeId)
+            .toList();
+        Map<Long, RecipeResponse> views = visible.isEmpty() ? Map.of() : transactionTemplate.execute(status ->
+            recipeRepository.findPublicRecipeViewsByIds(visible).stream()
+                .collect(Collectors.toMap(RecipeResponse::getId, Function.identity())));
+
+        List<OutgoingEvent> outgoing = new ArrayList<>(latest.size());
+        for (RecipeChangedEvent event : latest.values()) {
+            RecipeResponse view = views.get(event.recipeId());
+            boolean publicBefore = wasPublic.get(event.recipeId());
+            if (view != null) {
+                String name = publicBefore ? UPDATED : CREATED;
+                outgoing.add(new OutgoingEvent(name, jsonMapper.writeValueAsString(view)));
+            } else if (publicBefore) {
+                // Excluída ou privada (inclusive por escrita mais recente, ainda a caminho)
+                outgoing.add(new OutgoingEvent(REMOVED, "{\"id\":" + event.recipeId() + "}"));
+            }
+        }
+        return outgoing;
+    }
+
+    void publish(List<OutgoingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        publishLock.lock();
+        try {
+            for (OutgoingEvent event : events) {
+                long seq = ++sequence;
+                StreamEvent streamEvent = new StreamEvent(seq, SseEmitter.event()
+                    .id(eventId(seq))
+                    .name(event.name())
+                    .data(event.json())
+                    .build());
+                replay[(int) (seq % replay.length)] = streamEvent;
+                for (StreamSubscriber subscriber : subscribers) {
+                    deliver(subscriber, streamEvent.frame());
+                }
+            }
+            publishedCounter.increment(events.size());
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Eventos publicados depois de lastEventId, ou null se não dá para retomar
+     * (outra execução do pod, id inválido ou já fora do buffer circular)
+     */
+    private List<StreamEvent> missedSince(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !epoch.equals(lastEventId.substring(0, separator))) {
+            return null;
+        }
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (last > sequence || last < sequence - replay.length) {
+            return null;
+        }
+        List<StreamEvent> missed = new ArrayList<>((int) (sequence - last));
+        for (long seq = last + 1; seq <= sequence; seq++) {
+            missed.add(replay[(int) (seq % replay.length)]);
+        }
+        return missed;
+    }
+
+    // Reset só para um cliente: leva o id atual, então a próxima reconexão retoma daqui
+    private Set<DataWithMediaType> resetFrame() {
+        return SseEmitter.event().id(eventId(sequence)).name(RESET).data("{}").build();
+    }
+
+    private String eventId(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private void heartbeat() {
+        for (StreamSubscriber subscriber : subscribers) {
+            deliver(subscriber, HEARTBEAT);
+        }
+    }
+
+    /**
+     * Desconecta os clientes com escrita em andamento há mais de send-timeout e empresta
+     * ao pool uma thread para cada um, para que os outros clientes não fiquem na fila
+     */
+    void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        long timeoutNanos = properties.getSendTimeout().toNanos();
+        for (StreamSubscriber subscriber : subscribers) {
+            if (!subscriber.markStalled(now, timeoutNanos)) {
+                continue;
+            }
+            // A thread fica presa de todo jeito; a devolução vem quando a escrita terminar
+            borrowSender();
+            stalledCounter.increment();
+            if (subscribers.remove(subscriber)) {
+                droppedCounter.increment();
+                subscriber.close();
+            }
+        }
+    }
+
+    private synchronized void borrowSender() {
+        borrowedSenders++;
+        if (properties.getSenderThreads() + borrowedSenders > properties.getMaxSenderThreads()) {
+            log.warn("Stream SSE com {} escritas travadas; max-sender-threads atingido", borrowedSenders);
+        }
+        resizeSenders();
+    }
+
+    private synchronized void returnSender() {
+        borrowedSenders--;
+        resizeSenders();
+    }
+
+    private synchronized int borrowedSenders() {
+        return borrowedSenders;
+    }
+
+    // Crescendo, o máximo antes do núcleo; encolhendo, o núcleo antes do máximo
+    private void resizeSenders() {
+        int size = Math.min(properties.getSenderThreads() + borrowedSenders, properties.getMaxSenderThreads());
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else if (size < senders.getCorePoolSize()) {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void deliver(StreamSubscriber subscriber, Set<DataWithMediaType> frame) {
+        if (!subscriber.offer(frame)) {
+            // Cliente lento: a fila encheu. Desconectado, reconecta com Last-Event-ID
+            if (subscribers.remove(subscriber)) {
+                droppedCounter.increment();
+                subscriber.close();
+            }
+        }
+    }
+
+    record OutgoingEvent(String name, String json) {
+    }
+
+    private record StreamEvent(long sequence, Set<DataWithMediaType> frame) {
+    }
+}
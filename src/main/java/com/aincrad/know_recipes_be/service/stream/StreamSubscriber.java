@@ -0,0 +1,135 @@
+package com.aincrad.know_recipes_be.service.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Um cliente do stream: fila limitada de eventos já serializados e, só quando há
+ * algo na fila, uma tarefa no pool de envio que a esvazia no socket. Cliente
+ * ocioso não ocupa thread; cliente lento enche a fila e é desconectado.
+ * <p>
+ * A escrita no socket é bloqueante: um cliente que parou de ler prende a thread
+ * até o timeout de escrita do Tomcat. O início da escrita em andamento fica em
+ * sendStartedAt para que o RecipeEventStream detecte e descarte esses clientes.
+ */
+final class StreamSubscriber {
+
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> buffer;
+    private final Executor senders;
+    private final Consumer<StreamSubscriber> onClosed;
+    private final Consumer<StreamSubscriber> onStalledSendReturned;
+
+    // Garante uma única tarefa de envio por cliente (a ordem dos eventos se mantém)
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    // System.nanoTime() do início da escrita em andamento; 0 sem escrita, STALLED depois de
+    // markStalled. Uma variável só: a escrita que termina sabe se foi dada como travada
+    private static final long STALLED = Long.MIN_VALUE;
+    private final AtomicLong sendStartedAt = new AtomicLong();
+
+    // Só a tarefa de envio usa (serializada por draining)
+    private boolean completed;
+
+    StreamSubscriber(SseEmitter emitter, int capacity, Executor senders, Consumer<StreamSubscriber> onClosed,
+                     Consumer<StreamSubscriber> onStalledSendReturned) {
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.senders = senders;
+        this.onClosed = onClosed;
+        this.onStalledSendReturned = onStalledSendReturned;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * @return false se a fila do cliente está cheia
+     */
+    boolean offer(Set<DataWithMediaType> frame) {
+        if (closed) {
+            return true;
+        }
+        if (!buffer.offer(frame)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    /**
+     * Encerra a conexão sem esperar: o complete() roda na tarefa de envio, depois
+     * de uma escrita que esteja em andamento
+     */
+    void close() {
+        closed = true;
+        buffer.clear();
+        scheduleDrain();
+    }
+
+    /**
+     * Marca o cliente como travado se a escrita em andamento começou há mais de timeoutNanos
+     *
+     * @return true só na primeira vez, para quem descarta o cliente
+     */
+    boolean markStalled(long now, long timeoutNanos) {
+        long started = sendStartedAt.get();
+        return started != 0 && started != STALLED && now - started > timeoutNanos
+            && sendStartedAt.compareAndSet(started, STALLED);
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Pool encerrado (desligando a aplicação)
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Set<DataWithMediaType> frame;
+            while (!closed && (frame = buffer.poll()) != null) {
+                sendStartedAt.set(System.nanoTime());
+                try {
+                    emitter.send(frame);
+                } finally {
+                    if (sendStartedAt.getAndSet(0) == STALLED) {
+                        // A thread volta ao pool: a que foi emprestada no lugar dela pode sair
+                        onStalledSendReturned.accept(this);
+                    }
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou ou a requisição assíncrona já terminou
+            closed = true;
+        } finally {
+            if (closed && !completed) {
+                completed = true;
+                emitter.complete();
+                onClosed.accept(this);
+            }
+            draining.set(false);
+        }
+
+        // Evento ou close() que chegou entre o último poll e a liberação da tarefa
+        if ((closed && !completed) || (!closed && !buffer.isEmpty())) {
+            scheduleDrain();
+        }
+    }
+}
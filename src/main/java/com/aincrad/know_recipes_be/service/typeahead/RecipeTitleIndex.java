@@ -0,0 +1,152 @@
+package com.aincrad.know_recipes_be.service.typeahead;
+
+import com.aincrad.know_recipes_be.dto.TitleSuggestion;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.repository.projection.RecipeTitle;
+import com.aincrad.know_recipes_be.service.event.CacheFlushEvent;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Autocomplete dos títulos públicos servido da memória (TitlePrefixIndex).
+ * Carregado de TB_RECIPES na inicialização, em segundo plano, e mantido em dia
+ * pelos RecipeChangedEvent após o commit. Quando as alterações acumuladas passam
+ * de rebuild-threshold a base é recarregada e o delta volta a ficar pequeno.
+ */
+@Slf4j
+@Component
+public class RecipeTitleIndex {
+
+    private final TitlePrefixIndex index = new TitlePrefixIndex();
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxResults;
+    private final int rebuildThreshold;
+    private final ExecutorService rebuildExecutor;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final Timer rebuildTimer;
+
+    public RecipeTitleIndex(
+        RecipeRepository recipeRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${recipes.typeahead.max-results:20}") int maxResults,
+        @Value("${recipes.typeahead.rebuild-threshold:50000}") int rebuildThreshold
+    ) {
+        this.recipeRepository = recipeRepository;
+        // Carga pelo primário (transação de escrita): uma réplica atrasada perderia
+        // escritas cujos eventos já foram aplicados ao delta que a carga substitui.
+        // Transação também porque o driver do PostgreSQL só usa cursor sem autocommit
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxResults = maxResults;
+        this.rebuildThreshold = rebuildThreshold;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "typeahead-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.rebuildTimer = Timer.builder("recipes.typeahead.rebuild").register(meterRegistry);
+        Gauge.builder("recipes.typeahead.titles", index, TitlePrefixIndex::size).register(meterRegistry);
+        Gauge.builder("recipes.typeahead.pending", index, TitlePrefixIndex::pendingChanges).register(meterRegistry);
+        Gauge.builder("recipes.typeahead.memory", index, TitlePrefixIndex::baseBytes)
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Títulos públicos que começam com o texto digitado (sem diferenciar acentos e maiúsculas)
+     */
+    public List<TitleSuggestion> suggest(String query, int limit) {
+        return index.suggest(query, Math.min(limit, maxResults));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        if (!event.affectsPublicCatalog()) {
+            return;
+        }
+        if (event.publicAfter()) {
+            index.put(event.recipeId(), event.title());
+        } else {
+            index.remove(event.recipeId());
+        }
+        if (index.pendingChanges() >= rebuildThreshold) {
+            scheduleRebuild();
+        }
+    }
+
+    // Um lote importado pode trazer centenas de títulos: recarrega do banco de uma vez
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipesImported(RecipesImportedEvent event) {
+        if (event.publicCatalog()) {
+            scheduleRebuild();
+        }
+    }
+
+    // Pode ter perdido escritas de outros pods: recarrega do banco
+    @EventListener
+    public void onCacheFlush(CacheFlushEvent event) {
+        scheduleRebuild();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildScheduled.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        try {
+            index.rebuild(this::loadPublicTitles);
+            log.info("Índice de títulos carregado: {} títulos, {} KB", index.size(), index.baseBytes() / 1024);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar o índice de títulos; segue com a base anterior", e);
+        } finally {
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private TitlePrefixIndex.Segment loadPublicTitles() {
+        return transactionTemplate.execute(status -> {
+            TitlePrefixIndex.Builder builder = new TitlePrefixIndex.Builder();
+            try (Stream<RecipeTitle> titles = recipeRepository.streamPublicTitles()) {
+                titles.forEach(title -> builder.add(title.id(), title.title()));
+            }
+            return builder.build();
+        });
+    }
+}
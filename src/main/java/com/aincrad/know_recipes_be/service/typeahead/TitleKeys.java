@@ -0,0 +1,65 @@
+package com.aincrad.know_recipes_be.service.typeahead;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Arrays;
+
+/**
+ * Chave de busca dos títulos: sem acentos, em minúsculas, com pontuação e
+ * espaços repetidos reduzidos a um único espaço ("Pão-de-Queijo!" vira
+ * "pao de queijo"). Guardada em UTF-8 e comparada byte a byte sem sinal,
+ * o que equivale à ordem dos code points.
+ */
+final class TitleKeys {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private TitleKeys() {
+    }
+
+    /**
+     * @param keepTrailingSpace mantém um espaço final: "bolo " não deve casar com "bolovo"
+     */
+    static byte[] of(String text, boolean keepTrailingSpace) {
+        if (text == null || text.isEmpty()) {
+            return EMPTY;
+        }
+
+        // NFD separa a letra do acento ("ã" = "a" + til), e o acento é descartado
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (pendingSpace && !key.isEmpty()) {
+                    key.append(' ');
+                }
+                pendingSpace = false;
+                key.appendCodePoint(Character.toLowerCase(codePoint));
+            } else if (!isMark(codePoint)) {
+                pendingSpace = true;
+            }
+        }
+        if (pendingSpace && keepTrailingSpace && !key.isEmpty()) {
+            key.append(' ');
+        }
+        return key.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int compare(byte[] a, int aFrom, int aTo, byte[] b, int bFrom, int bTo) {
+        return Arrays.compareUnsigned(a, aFrom, aTo, b, bFrom, bTo);
+    }
+
+    static boolean startsWith(byte[] key, int from, int to, byte[] prefix) {
+        return to - from >= prefix.length && Arrays.equals(key, from, from + prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static boolean isMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+            || type == Character.COMBINING_SPACING_MARK
+            || type == Character.ENCLOSING_MARK;
+    }
+}
@@ -0,0 +1,346 @@
+package com.aincrad.know_recipes_be.service.typeahead;
+
+import com.aincrad.know_recipes_be.dto.TitleSuggestion;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Índice de prefixos dos títulos, em duas camadas:
+ * <ul>
+ *   <li>base: imutável, ordenada pela chave (TitleKeys) e compactada em poucos arrays
+ *   (chaves e títulos em UTF-8 num byte[] cada, offsets em int[], ids em long[]), sem
+ *   nenhum objeto por título; a busca é uma pesquisa binária pelo prefixo</li>
+ *   <li>delta: escritas desde a última reconstrução, num ConcurrentSkipListSet, e os
+ *   ids da base que elas escondem (título alterado, receita removida ou privada)</li>
+ * </ul>
+ * Leituras não bloqueiam: pegam o estado atual e intercalam as duas camadas em ordem.
+ * Escritas passam por um lock e, durante uma reconstrução, também vão para um diário
+ * que é aplicado por cima da nova base quando ela entra no lugar.
+ */
+final class TitlePrefixIndex {
+
+    static final Comparator<Entry> ORDER = (a, b) -> {
+        int byKey = Arrays.compareUnsigned(a.key(), b.key());
+        return byKey != 0 ? byKey : Long.compare(a.id(), b.id());
+    };
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile State state = new State(Segment.EMPTY, new Delta());
+
+    // Escritas recebidas durante uma reconstrução (guardado por writeLock)
+    private Delta journal;
+
+    /**
+     * Inclui ou atualiza o título de uma receita
+     */
+    void put(long id, String title) {
+        Entry entry = new Entry(TitleKeys.of(title, false), id, title);
+        writeLock.lock();
+        try {
+            state.delta().put(entry);
+            if (journal != null) {
+                journal.put(entry);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void remove(long id) {
+        writeLock.lock();
+        try {
+            state.delta().remove(id);
+            if (journal != null) {
+                journal.remove(id);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Substitui a base pela carregada; o delta passa a ser só o que mudou durante a carga.
+     * Não deve ser chamado concorrentemente.
+     */
+    void rebuild(Supplier<Segment> loader) {
+        writeLock.lock();
+        try {
+            journal = new Delta();
+        } finally {
+            writeLock.unlock();
+        }
+
+        Segment base = null;
+        try {
+            base = loader.get();
+        } finally {
+            writeLock.lock();
+            try {
+                if (base != null) {
+                    state = new State(base, journal);
+                }
+                journal = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Até limit títulos distintos (pela chave) que começam com o prefixo, em ordem alfabética
+     */
+    List<TitleSuggestion> suggest(String query, int limit) {
+        byte[] prefix = TitleKeys.of(query, true);
+        if (prefix.length == 0 || limit <= 0) {
+            return List.of();
+        }
+
+        State current = state;
+        Segment base = current.base();
+        Delta delta = current.delta();
+
+        Iterator<Entry> added = delta.entries.tailSet(new Entry(prefix, Long.MIN_VALUE, null)).iterator();
+        Entry nextAdded = nextMatch(added, prefix);
+        int index = base.lowerBound(prefix);
+        byte[] lastKey = null;
+
+        List<TitleSuggestion> suggestions = new ArrayList<>(limit);
+        while (suggestions.size() < limit) {
+            while (index < base.size() && base.startsWith(index, prefix)
+                && (delta.hides(base.id(index)) || (lastKey != null && base.keyEquals(index, lastKey)))) {
+                // Repetições do último título saem numa pesquisa binária, não uma a uma
+                index = lastKey != null && base.keyEquals(index, lastKey) ? base.nextKey(index) : index + 1;
+            }
+            boolean hasBase = index < base.size() && base.startsWith(index, prefix);
+            if (!hasBase && nextAdded == null) {
+                break;
+            }
+
+            if (hasBase && (nextAdded == null || base.compareTo(index, nextAdded) < 0)) {
+                lastKey = base.key(index);
+                suggestions.add(new TitleSuggestion(base.id(index), base.title(index)));
+                index = base.nextKey(index);
+            } else {
+                if (lastKey == null || !Arrays.equals(lastKey, nextAdded.key())) {
+                    lastKey = nextAdded.key();
+                    suggestions.add(new TitleSuggestion(nextAdded.id(), nextAdded.title()));
+                }
+                nextAdded = nextMatch(added, prefix);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Títulos na base mais os incluídos depois dela (aproximado: não desconta os escondidos)
+     */
+    int size() {
+        State current = state;
+        return current.base().size() + current.delta().entries.size();
+    }
+
+    /**
+     * Receitas alteradas desde a última reconstrução
+     */
+    int pendingChanges() {
+        return state.delta().hidden.size();
+    }
+
+    long baseBytes() {
+        return state.base().bytes();
+    }
+
+    private static Entry nextMatch(Iterator<Entry> entries, byte[] prefix) {
+        if (!entries.hasNext()) {
+            return null;
+        }
+        Entry entry = entries.next();
+        return TitleKeys.startsWith(entry.key(), 0, entry.key().length, prefix) ? entry : null;
+    }
+
+    record Entry(byte[] key, long id, String title) {
+    }
+
+    private record State(Segment base, Delta delta) {
+    }
+
+    /**
+     * Alterações desde a base: títulos novos ou alterados e os ids que eles escondem na base
+     */
+    private static final class Delta {
+
+        private final ConcurrentSkipListSet<Entry> entries = new ConcurrentSkipListSet<>(ORDER);
+        private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+        private final Set<Long> hidden = ConcurrentHashMap.newKeySet();
+
+        void put(Entry entry) {
+            hidden.add(entry.id());
+            Entry previous = byId.put(entry.id(), entry);
+            if (previous != null) {
+                entries.remove(previous);
+            }
+            entries.add(entry);
+        }
+
+        void remove(long id) {
+            hidden.add(id);
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                entries.remove(previous);
+            }
+        }
+
+        boolean hides(long id) {
+            return !hidden.isEmpty() && hidden.contains(id);
+        }
+    }
+
+    /**
+     * Camada base compactada. Por título: a chave e o título em UTF-8, dois offsets
+     * int e o id long (~20 bytes fixos), sem cabeçalhos de objeto nem referências.
+     */
+    static final class Segment {
+
+        static final Segment EMPTY = new Builder().build();
+
+        private final byte[] keys;
+        private final int[] keyOffsets;
+        private final byte[] titles;
+        private final int[] titleOffsets;
+        private final long[] ids;
+
+        private Segment(byte[] keys, int[] keyOffsets, byte[] titles, int[] titleOffsets, long[] ids) {
+            this.keys = keys;
+            this.keyOffsets = keyOffsets;
+            this.titles = titles;
+            this.titleOffsets = titleOffsets;
+            this.ids = ids;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        long id(int index) {
+            return ids[index];
+        }
+
+        String title(int index) {
+            int from = titleOffsets[index];
+            return new String(titles, from, titleOffsets[index + 1] - from, StandardCharsets.UTF_8);
+        }
+
+        byte[] key(int index) {
+            return Arrays.copyOfRange(keys, keyOffsets[index], keyOffsets[index + 1]);
+        }
+
+        boolean startsWith(int index, byte[] prefix) {
+            return TitleKeys.startsWith(keys, keyOffsets[index], keyOffsets[index + 1], prefix);
+        }
+
+        boolean keyEquals(int index, byte[] key) {
+            return Arrays.equals(keys, keyOffsets[index], keyOffsets[index + 1], key, 0, key.length);
+        }
+
+        int compareTo(int index, Entry entry) {
+            int byKey = TitleKeys.compare(keys, keyOffsets[index], keyOffsets[index + 1], entry.key(), 0, entry.key().length);
+            return byKey != 0 ? byKey : Long.compare(ids[index], entry.id());
+        }
+
+        /**
+         * Primeira posição com chave maior ou igual a key
+         */
+        int lowerBound(byte[] key) {
+            int low = 0;
+            int high = ids.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (TitleKeys.compare(keys, keyOffsets[middle], keyOffsets[middle + 1], key, 0, key.length) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Primeira posição depois de index com chave diferente da sua
+         */
+        int nextKey(int index) {
+            int from = keyOffsets[index];
+            int to = keyOffsets[index + 1];
+            int low = index + 1;
+            int high = ids.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (Arrays.equals(keys, keyOffsets[middle], keyOffsets[middle + 1], keys, from, to)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Memória ocupada pelos arrays (cabeçalhos de 16 bytes incluídos)
+         */
+        long bytes() {
+            return 5 * 16L + keys.length + titles.length
+                + 4L * (keyOffsets.length + titleOffsets.length) + 8L * ids.length;
+        }
+    }
+
+    /**
+     * Acumula os títulos da carga e monta a Segment ordenada
+     */
+    static final class Builder {
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        Builder add(long id, String title) {
+            entries.add(new Entry(TitleKeys.of(title, false), id, title));
+            return this;
+        }
+
+        Segment build() {
+            entries.sort(ORDER);
+            int size = entries.size();
+            byte[][] encodedTitles = new byte[size][];
+            long keyBytes = 0;
+            long titleBytes = 0;
+            for (int i = 0; i < size; i++) {
+                encodedTitles[i] = entries.get(i).title().getBytes(StandardCharsets.UTF_8);
+                keyBytes += entries.get(i).key().length;
+                titleBytes += encodedTitles[i].length;
+            }
+
+            byte[] keys = new byte[Math.toIntExact(keyBytes)];
+            byte[] titles = new byte[Math.toIntExact(titleBytes)];
+            int[] keyOffsets = new int[size + 1];
+            int[] titleOffsets = new int[size + 1];
+            long[] ids = new long[size];
+            for (int i = 0; i < size; i++) {
+                Entry entry = entries.get(i);
+                System.arraycopy(entry.key(), 0, keys, keyOffsets[i], entry.key().length);
+                keyOffsets[i + 1] = keyOffsets[i] + entry.key().length;
+                System.arraycopy(encodedTitles[i], 0, titles, titleOffsets[i], encodedTitles[i].length);
+                titleOffsets[i + 1] = titleOffsets[i] + encodedTitles[i].length;
+                ids[i] = entry.id();
+            }
+            return new Segment(keys, keyOffsets, titles, titleOffsets, ids);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Índices compostos para paginação por cursor (keyset) em (CREATED_AT, ID)
+CREATE INDEX IF NOT EXISTS IDX_TB_RECIPES_PUBLIC_CREATED
+    ON TB_RECIPES (CREATED_AT DESC, ID DESC)
+    WHERE IS_PRIVATE = FALSE;
+
+CREATE INDEX IF NOT EXISTS IDX_TB_RECIPES_USER_CREATED
+    ON TB_RECIPES (USER_ID, CREATED_AT DESC, ID DESC);
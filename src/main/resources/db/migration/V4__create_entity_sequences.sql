@@ -0,0 +1,7 @@
+-- Sequences referenciadas pelas entidades (@SequenceGenerator).
+-- Antes eram criadas pelo Hibernate (ddl-auto), agora o schema fica todo com o Flyway.
+CREATE SEQUENCE IF NOT EXISTS SEQ_TB_USERS START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS SEQ_TB_RECIPES START WITH 1 INCREMENT BY 1;
+
+SELECT setval('SEQ_TB_USERS', COALESCE((SELECT MAX(ID) FROM TB_USERS), 0) + 1, false);
+SELECT setval('SEQ_TB_RECIPES', COALESCE((SELECT MAX(ID) FROM TB_RECIPES), 0) + 1, false);
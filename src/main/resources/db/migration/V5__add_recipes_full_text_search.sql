@@ -0,0 +1,22 @@
+-- Busca textual: configuração em português sem acentos + coluna tsvector mantida pelo banco
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_ts_config WHERE cfgname = 'portuguese_unaccent') THEN
+        CREATE TEXT SEARCH CONFIGURATION portuguese_unaccent (COPY = portuguese);
+        ALTER TEXT SEARCH CONFIGURATION portuguese_unaccent
+            ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+    END IF;
+END
+$$;
+
+-- Título pesa mais (A) que a descrição (B) no ranking
+ALTER TABLE TB_RECIPES
+    ADD COLUMN SEARCH_VECTOR TSVECTOR
+        GENERATED ALWAYS AS (
+            setweight(to_tsvector('portuguese_unaccent'::regconfig, COALESCE(TITLE, '')), 'A') ||
+            setweight(to_tsvector('portuguese_unaccent'::regconfig, COALESCE(DESCRIPTION, '')), 'B')
+        ) STORED;
+
+CREATE INDEX IDX_TB_RECIPES_SEARCH ON TB_RECIPES USING GIN (SEARCH_VECTOR);
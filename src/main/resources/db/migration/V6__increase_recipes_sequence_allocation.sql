@@ -0,0 +1,6 @@
+-- Otimizador "pooled" do Hibernate: cada nextval reserva um bloco de 50 IDs
+-- (deve acompanhar o allocationSize de Recipe).
+ALTER SEQUENCE SEQ_TB_RECIPES INCREMENT BY 50;
+
+-- O pooled trata o valor retornado como o topo do bloco: reposiciona acima do maior ID
+SELECT setval('SEQ_TB_RECIPES', COALESCE((SELECT MAX(ID) FROM TB_RECIPES), 0) + 50, true);
@@ -0,0 +1,9 @@
+-- Imagem enviada pelo autor e armazenada localmente (recipes.images.storage-dir).
+-- IMAGE_STATUS: PENDING enquanto as miniaturas são geradas, READY ou FAILED depois.
+ALTER TABLE TB_RECIPES ADD COLUMN IF NOT EXISTS IMAGE_ID VARCHAR(32);
+ALTER TABLE TB_RECIPES ADD COLUMN IF NOT EXISTS IMAGE_STATUS VARCHAR(16);
+
+-- Miniaturas pendentes retomadas na inicialização
+CREATE INDEX IF NOT EXISTS IDX_TB_RECIPES_IMAGE_PENDING
+    ON TB_RECIPES (ID)
+    WHERE IMAGE_STATUS = 'PENDING';
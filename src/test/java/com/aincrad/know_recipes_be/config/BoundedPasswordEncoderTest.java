@@ -0,0 +1,111 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), properties(1, 1, Duration.ofSeconds(5)), meterRegistry);
+
+        // Uma senha em cálculo, outra na fila
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitForQueued(1);
+
+        assertThatThrownBy(() -> encoder.encode("c"))
+            .isInstanceOf(PasswordHashingRejectedException.class)
+            .extracting(e -> ((PasswordHashingRejectedException) e).getRetryAfter())
+            .isEqualTo(Duration.ofSeconds(2));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+        assertThat(meterRegistry.get("recipes.auth.password.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWhenWaitExceedsLimit() {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(), properties(1, 10, Duration.ofMillis(100)), meterRegistry);
+
+        assertThatThrownBy(() -> encoder.matches("a", "hash:a"))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+    }
+
+    @Test
+    void hashesOnPoolAndReportsCostUpgrade() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), properties(2, 10, Duration.ofSeconds(5)), meterRegistry);
+
+        String hash = encoder.encode("password123");
+        assertThat(encoder.matches("password123", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password123"))).isTrue();
+    }
+
+    private void waitForQueued(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").gauge().value() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                await();
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                await();
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+    }
+
+    private void await() {
+        started.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static PasswordHashingProperties properties(int threads, int queueCapacity, Duration maxWait) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(threads);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setMaxWait(maxWait);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        return properties;
+    }
+}
@@ -0,0 +1,41 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.service.query.QueryInsights;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.GenericApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Os dois BeanPostProcessors que envolvem o DataSource, registrados na ordem "errada"
+ * de propósito: o Ordered de cada um é que decide a cadeia, não a ordem de registro.
+ */
+class DataSourcePostProcessorOrderTest {
+
+    @Test
+    void connectionGuardWrapsHikariAndQueryInsightsWrapsTheGuard() {
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            context.registerBean("queryInsightsDataSourcePostProcessor",
+                QueryInsightsConfig.QueryInsightsDataSourcePostProcessor.class,
+                () -> QueryInsightsConfig.queryInsightsDataSourcePostProcessor(
+                    context.getBeanProvider(QueryInsights.class)));
+            context.registerBean("connectionLimitingDataSourcePostProcessor",
+                VirtualThreadConfig.ConnectionLimitingDataSourcePostProcessor.class,
+                () -> VirtualThreadConfig.connectionLimitingDataSourcePostProcessor(
+                    context.getEnvironment(), context.getBeanProvider(MeterRegistry.class)));
+            HikariDataSource hikari = new HikariDataSource();
+            context.registerBean("dataSource", DataSource.class, () -> hikari);
+            context.refresh();
+
+            DataSource dataSource = context.getBean("dataSource", DataSource.class);
+            assertThat(dataSource).isInstanceOf(QueryInsightsDataSource.class);
+            DataSource guard = ((QueryInsightsDataSource) dataSource).getTargetDataSource();
+            assertThat(guard).isInstanceOf(ConnectionLimitingDataSource.class);
+            assertThat(((ConnectionLimitingDataSource) guard).getTargetDataSource()).isSameAs(hikari);
+        }
+    }
+}
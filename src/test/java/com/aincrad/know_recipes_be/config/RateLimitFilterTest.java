@@ -0,0 +1,76 @@
+package com.aincrad.know_recipes_be.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:rate-limit;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "recipes.rate-limit.groups.read.capacity=2",
+    "recipes.rate-limit.groups.read.refill-per-second=0.001"
+})
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void anonymousClientsBehindATrustedProxyGetTheirOwnBuckets() throws Exception {
+        // O teste conecta por loopback, que o Tomcat trata como proxy confiável (o ingress)
+        assertThat(status("203.0.113.10")).isEqualTo(200);
+        assertThat(status("203.0.113.10")).isEqualTo(200);
+        assertThat(status("203.0.113.10")).isEqualTo(429);
+
+        assertThat(status("203.0.113.20")).isEqualTo(200);
+        assertThat(status("198.51.100.7, 203.0.113.30")).isEqualTo(200);
+    }
+
+    @Test
+    void exhaustedBucketAnswers429WithRetryAfterAndAnErrorBody() throws Exception {
+        get("192.0.2.40");
+        get("192.0.2.40");
+        HttpResponse<String> rejected = get("192.0.2.40");
+
+        assertThat(rejected.statusCode()).isEqualTo(429);
+        // Reposição de 0,001 token/s: o próximo token está a ~1000 s
+        assertThat(rejected.headers().firstValue("Retry-After")).hasValueSatisfying(
+            retryAfter -> assertThat(Long.parseLong(retryAfter)).isBetween(900L, 1000L));
+        assertThat(rejected.headers().firstValue("Content-Type")).hasValueSatisfying(
+            contentType -> assertThat(contentType).startsWith("application/json"));
+        JsonNode body = JsonMapper.builder().build().readTree(rejected.body());
+        assertThat(body.get("status").asInt()).isEqualTo(429);
+        assertThat(body.get("path").asString()).isEqualTo("/api/recipes/public");
+
+        // Outro grupo (busca) tem orçamento próprio
+        HttpRequest search = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/search/public?q=bolo"))
+            .header("X-Forwarded-For", "192.0.2.40")
+            .build();
+        assertThat(http.send(search, HttpResponse.BodyHandlers.discarding()).statusCode()).isNotEqualTo(429);
+    }
+
+    private int status(String forwardedFor) throws Exception {
+        return get(forwardedFor).statusCode();
+    }
+
+    private HttpResponse<String> get(String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/public?page=0&size=1"))
+            .header("X-Forwarded-For", forwardedFor)
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,30 @@
+package com.aincrad.know_recipes_be.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitGroupTest {
+
+    @Test
+    void mapsApiPathsToGroupsAndLeavesTheRestUnlimited() {
+        assertThat(group("POST", "/api/auth/login")).isEqualTo(RateLimitGroup.AUTH);
+        assertThat(group("GET", "/api/auth/me")).isEqualTo(RateLimitGroup.AUTH);
+        assertThat(group("GET", "/api/recipes/search/public")).isEqualTo(RateLimitGroup.SEARCH);
+        assertThat(group("GET", "/api/recipes/public/feed")).isEqualTo(RateLimitGroup.READ);
+        assertThat(group("HEAD", "/api/images/abc/small.jpg")).isEqualTo(RateLimitGroup.READ);
+        assertThat(group("POST", "/api/recipes")).isEqualTo(RateLimitGroup.WRITE);
+        assertThat(group("DELETE", "/api/recipes/7")).isEqualTo(RateLimitGroup.WRITE);
+
+        assertThat(group("GET", "/actuator/health")).isNull();
+        assertThat(group("GET", "/error")).isNull();
+        // Prefixo parecido não é a rota de busca nem a de autenticação
+        assertThat(group("GET", "/api/recipes/searchable")).isEqualTo(RateLimitGroup.READ);
+        assertThat(group("GET", "/api/authors")).isEqualTo(RateLimitGroup.READ);
+    }
+
+    private static RateLimitGroup group(String method, String path) {
+        return RateLimitGroup.of(new MockHttpServletRequest(method, path));
+    }
+}
@@ -0,0 +1,67 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.service.query.QueryInsights;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Os pools das réplicas são montados dentro do roteamento, fora do alcance dos
+ * post-processors: o limite de conexões precisa ser aplicado pela própria configuração.
+ */
+class ReadReplicaDataSourceConfigTest {
+
+    @Test
+    void replicaPoolsGetTheConnectionGuardAndQueryInsightsSitsAboveTheRouting() throws Exception {
+        HikariDataSource replicaPool;
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            TestPropertyValues.of(
+                "recipes.datasource.routing.enabled=true",
+                "recipes.datasource.routing.health-check-interval=1h",
+                "recipes.datasource.replicas[0].url=jdbc:h2:mem:replica-config-0"
+            ).applyTo(context);
+            context.registerBean(DataSourceProperties.class, () -> {
+                DataSourceProperties properties = new DataSourceProperties();
+                properties.setUrl("jdbc:h2:mem:primary-config");
+                properties.setUsername("sa");
+                properties.setPassword("");
+                return properties;
+            });
+            context.registerBean("connectionLimitingDataSourcePostProcessor",
+                VirtualThreadConfig.ConnectionLimitingDataSourcePostProcessor.class,
+                () -> VirtualThreadConfig.connectionLimitingDataSourcePostProcessor(
+                    context.getEnvironment(), context.getBeanProvider(MeterRegistry.class)));
+            context.registerBean("queryInsightsDataSourcePostProcessor",
+                QueryInsightsConfig.QueryInsightsDataSourcePostProcessor.class,
+                () -> QueryInsightsConfig.queryInsightsDataSourcePostProcessor(
+                    context.getBeanProvider(QueryInsights.class)));
+            context.register(ReadReplicaDataSourceConfig.class);
+            context.refresh();
+
+            DataSource dataSource = context.getBean("dataSource", DataSource.class);
+            assertThat(dataSource).isInstanceOf(QueryInsightsDataSource.class);
+            DataSource lazy = ((QueryInsightsDataSource) dataSource).getTargetDataSource();
+            assertThat(lazy).isInstanceOf(LazyConnectionDataSourceProxy.class);
+            ReplicaRoutingDataSource routing = context.getBean(ReplicaRoutingDataSource.class);
+            assertThat(((LazyConnectionDataSourceProxy) lazy).getTargetDataSource()).isSameAs(routing);
+
+            assertThat(routing.getResolvedDataSources().get(ReplicaRoutingDataSource.PRIMARY))
+                .isInstanceOf(ConnectionLimitingDataSource.class);
+            DataSource replica = routing.getResolvedDataSources().get("replica-0");
+            assertThat(replica).isInstanceOf(ConnectionLimitingDataSource.class);
+            replicaPool = replica.unwrap(HikariDataSource.class);
+            assertThat(replicaPool.isReadOnly()).isTrue();
+        }
+
+        // O proxy não impede o roteamento de fechar o pool da réplica
+        assertThat(replicaPool.isClosed()).isTrue();
+    }
+}
@@ -0,0 +1,130 @@
+package com.aincrad.know_recipes_be.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois bancos H2 em memória fazem o papel de primário e réplica;
+ * cada um responde seu próprio nome na tabela NODE.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesTracker tracker;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        routing.close();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndWritesToPrimary() {
+        route(Map.of("replica-0", node("replica0")));
+
+        assertThat(readOnlyNode()).isEqualTo("replica0");
+        assertThat(readWriteNode()).isEqualTo("primary");
+        // Fora de transação: primário
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void recentWriterReadsFromPrimary() {
+        route(Map.of("replica-0", node("replica0")));
+        authenticate(7L);
+
+        tracker.markWrite(7L);
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        authenticate(8L);
+        assertThat(readOnlyNode()).isEqualTo("replica0");
+    }
+
+    @Test
+    void unavailableReplicaFailsOverToPrimaryAndLeavesRotation() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", unreachable());
+        replicas.put("replica-1", node("replica1"));
+        route(replicas);
+
+        // Rodízio começa pela replica-0, que falha: a leitura segue no primário
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(routing.isHealthy("replica-0")).isFalse();
+
+        // A partir daí só a réplica saudável recebe leituras
+        for (int i = 0; i < 4; i++) {
+            assertThat(readOnlyNode()).isEqualTo("replica1");
+        }
+
+        routing.checkHealth();
+        assertThat(routing.isHealthy("replica-0")).isFalse();
+        assertThat(routing.isHealthy("replica-1")).isTrue();
+    }
+
+    private void route(Map<String, DataSource> replicas) {
+        routing = new ReplicaRoutingDataSource(node("primary"), replicas, tracker, Duration.ofSeconds(10));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> currentNode());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> currentNode());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT NAME FROM NODE", String.class);
+    }
+
+    private static DataSource node(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE NODE (NAME VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO NODE VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static DataSource unreachable() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        return dataSource;
+    }
+
+    private static void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@knowrecipes.com", "user" + userId, null);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.aincrad.know_recipes_be.config;
+
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import com.aincrad.know_recipes_be.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:security-config;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "recipes.rate-limit.enabled=false",
+    "recipes.admin.token=plantao-123"
+})
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void prometheusScrapeRequiresTheAdminToken() throws Exception {
+        assertThat(status("/actuator/prometheus", null)).isIn(401, 403);
+        assertThat(status("/actuator/prometheus", "outro-token")).isIn(401, 403);
+        assertThat(status("/actuator/prometheus", "plantao-123")).isEqualTo(200);
+        assertThat(status("/actuator/health", null)).isEqualTo(200);
+    }
+
+    @Test
+    void metricsEndpointRejectsAUserJwtAndRequiresTheAdminToken() throws Exception {
+        User user = new User();
+        user.setUsername("metricas-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        String userToken = jwtService.generateToken(AuthenticatedUser.from(userRepository.save(user)));
+
+        HttpRequest withJwt = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/metrics/http.server.requests"))
+            .header("Authorization", "Bearer " + userToken)
+            .build();
+        assertThat(http.send(withJwt, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(403);
+        assertThat(status("/actuator/metrics", null)).isIn(401, 403);
+        assertThat(status("/actuator/metrics", "plantao-123")).isEqualTo(200);
+    }
+
+    private int status(String path, String adminToken) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (adminToken != null) {
+            request.header("X-Admin-Token", adminToken);
+        }
+        return http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
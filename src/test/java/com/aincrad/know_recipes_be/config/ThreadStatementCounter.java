@@ -0,0 +1,26 @@
+package com.aincrad.know_recipes_be.config;
+
+/**
+ * Acesso dos testes à contagem por thread do {@link StatementCountingInspector}:
+ * ao contrário das estatísticas da SessionFactory, não soma o que tarefas em
+ * segundo plano executam durante a medição.
+ */
+public final class ThreadStatementCounter {
+
+    private ThreadStatementCounter() {
+    }
+
+    /**
+     * @return statements SQL preparados pelo Hibernate nesta thread durante a ação
+     */
+    public static int count(Runnable action) {
+        StatementCountingInspector.start();
+        try {
+            action.run();
+        } catch (RuntimeException | Error e) {
+            StatementCountingInspector.stop();
+            throw e;
+        }
+        return StatementCountingInspector.stop();
+    }
+}
@@ -0,0 +1,40 @@
+package com.aincrad.know_recipes_be.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstThenRefillsAtConfiguredRate() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(3, 2, now);
+
+        // Rajada: capacity fichas de uma vez
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isZero();
+
+        // Vazio: próxima ficha em 1/refill segundos
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryAcquire(now + SECOND / 4)).isEqualTo(SECOND / 4);
+        assertThat(bucket.tryAcquire(now + SECOND / 2)).isZero();
+        assertThat(bucket.tryAcquire(now + SECOND / 2)).isPositive();
+    }
+
+    @Test
+    void idleBucketNeverExceedsCapacity() {
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(2, 10, now);
+
+        long later = now + 60 * SECOND;
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isZero();
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+}
@@ -0,0 +1,69 @@
+package com.aincrad.know_recipes_be.controller;
+
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:auth-controller;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "recipes.rate-limit.enabled=false",
+    // Nenhum BCrypt de custo 10 termina em 1 ms: todo hash estoura a espera
+    "recipes.auth.password-hashing.strength=10",
+    "recipes.auth.password-hashing.max-wait=1ms",
+    "recipes.auth.password-hashing.retry-after=3s"
+})
+@ActiveProfiles("test")
+class AuthControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void loginAnswers429WithRetryAfterWhenPasswordHashingIsSaturated() throws Exception {
+        User user = new User();
+        user.setUsername("login-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2L8yCq0l2fGv1Y0pGvQy7nK");
+        userRepository.save(user);
+
+        HttpResponse<String> response = login(user.getEmail(), "password");
+
+        assertThat(response.statusCode()).isEqualTo(429);
+        assertThat(response.headers().firstValue("Retry-After")).contains("3");
+    }
+
+    @Test
+    void loginOfAnUnknownEmailIsAlso429WhenSaturated() throws Exception {
+        // O provider faz um hash falso para e-mails inexistentes (proteção contra timing)
+        assertThat(login("ninguem-" + UUID.randomUUID() + "@knowrecipes.com", "password").statusCode())
+            .isEqualTo(429);
+    }
+
+    private HttpResponse<String> login(String email, String password) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,170 @@
+package com.aincrad.know_recipes_be.controller;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.dto.RecipeRequest;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import com.aincrad.know_recipes_be.service.JwtService;
+import com.aincrad.know_recipes_be.service.RecipeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:recipe-controller;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "recipes.rate-limit.enabled=false",
+    "recipes.pagination.max-size=2"
+})
+@ActiveProfiles("test")
+class RecipeControllerTest {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private String token;
+
+    @BeforeEach
+    void createRecipes() {
+        User user = new User();
+        user.setUsername("lista-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        AuthenticatedUser principal = AuthenticatedUser.from(userRepository.save(user));
+        token = jwtService.generateToken(principal);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        for (int i = 1; i <= 3; i++) {
+            recipeService.createRecipe(new RecipeRequest("Receita " + i, "Modo de preparo", null, false));
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void publicCursorListingRejectsNonPositiveSizeAndClampsLargeOnes() throws Exception {
+        assertThat(get("/api/recipes/public?cursor=&size=0").statusCode()).isEqualTo(400);
+        assertThat(get("/api/recipes/public?cursor=&size=-5").statusCode()).isEqualTo(400);
+
+        HttpResponse<String> response = get("/api/recipes/public?cursor=&size=1000000");
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode body = JSON.readTree(response.body());
+        assertThat(body.get("items").size()).isEqualTo(2);
+        assertThat(body.get("hasNext").asBoolean()).isTrue();
+    }
+
+    @Test
+    void myCursorListingRejectsNonPositiveSizeAndClampsLargeOnes() throws Exception {
+        assertThat(get("/api/recipes/my?cursor=&size=0").statusCode()).isEqualTo(400);
+        assertThat(get("/api/recipes/my?cursor=&size=-1").statusCode()).isEqualTo(400);
+
+        HttpResponse<String> response = get("/api/recipes/my?cursor=&size=1000000");
+        assertThat(response.statusCode()).isEqualTo(200);
+        JsonNode body = JSON.readTree(response.body());
+        assertThat(body.get("items").size()).isEqualTo(2);
+        assertThat(body.get("hasNext").asBoolean()).isTrue();
+    }
+
+    @Test
+    void creatingWithTheTokenOfARemovedUserAnswers401() throws Exception {
+        User user = new User();
+        user.setUsername("removido-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        User saved = userRepository.save(user);
+        String staleToken = jwtService.generateToken(AuthenticatedUser.from(saved));
+        userRepository.delete(saved);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes"))
+            .header("Authorization", "Bearer " + staleToken)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Bolo\",\"description\":\"Modo de preparo\"}"))
+            .build();
+        assertThat(http.send(request, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void exportIsCompressedOnlyWhenGzipHasAPositiveWeight() throws Exception {
+        assertThat(exportEncoding("gzip")).contains("gzip");
+        assertThat(exportEncoding("br;q=1.0, gzip;q=0.5")).contains("gzip");
+        assertThat(exportEncoding("*")).contains("gzip");
+        assertThat(exportEncoding("gzip;q=0")).isEmpty();
+        assertThat(exportEncoding("gzip; q=0.000, identity")).isEmpty();
+        assertThat(exportEncoding("*;q=1, gzip;q=0")).isEmpty();
+        assertThat(exportEncoding("identity")).isEmpty();
+    }
+
+    @Test
+    void bulkImportReadsTheJsonArrayFromTheBody() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/bulk"))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(
+                "[{\"title\":\"Bolo\",\"description\":\"Modo de preparo\"},{\"title\":\"Pão\",\"description\":\"Modo de preparo\"}]"))
+            .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(JSON.readTree(response.body()).get("imported").asInt()).isEqualTo(2);
+
+        HttpRequest notAnArray = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/bulk"))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"Bolo\"}"))
+            .build();
+        assertThat(http.send(notAnArray, HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(400);
+    }
+
+    private Optional<String> exportEncoding(String acceptEncoding) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/my/export"))
+            .header("Authorization", "Bearer " + token)
+            .header("Accept-Encoding", acceptEncoding)
+            .build();
+        HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.headers().firstValue("Content-Encoding");
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("Authorization", "Bearer " + token)
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,99 @@
+package com.aincrad.know_recipes_be.controller;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import com.aincrad.know_recipes_be.service.JwtService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:recipe-image-controller;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "recipes.rate-limit.enabled=false"
+})
+@ActiveProfiles("test")
+class RecipeImageControllerTest {
+
+    private static final String BOUNDARY = "receita-boundary";
+
+    @TempDir
+    static Path storageDir;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("recipes.images.storage-dir", storageDir::toString);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void uploadAnswers404ForAMissingRecipeAnd403ForSomeoneElses() throws Exception {
+        User author = user("autor");
+        String intruderToken = jwtService.generateToken(AuthenticatedUser.from(user("intruso")));
+
+        Recipe recipe = new Recipe();
+        recipe.setUniqueId(UUID.randomUUID().toString());
+        recipe.setTitle("Bolo");
+        recipe.setIsPrivate(false);
+        recipe.setUser(author);
+        Long recipeId = recipeRepository.save(recipe).getId();
+
+        assertThat(upload(Long.MAX_VALUE, intruderToken)).isEqualTo(404);
+        assertThat(upload(recipeId, intruderToken)).isEqualTo(403);
+    }
+
+    private User user(String prefix) {
+        User user = new User();
+        user.setUsername(prefix + "-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        return userRepository.save(user);
+    }
+
+    private int upload(Long recipeId, String token) throws Exception {
+        // O dono é verificado antes do conteúdo: qualquer arquivo serve
+        String body = "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"bolo.png\"\r\n"
+            + "Content-Type: image/png\r\n\r\n"
+            + "png\r\n"
+            + "--" + BOUNDARY + "--\r\n";
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/recipes/" + recipeId + "/image"))
+            .header("Authorization", "Bearer " + token)
+            .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+            .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,137 @@
+package com.aincrad.know_recipes_be.repository.jpa;
+
+import com.aincrad.know_recipes_be.config.EntityCacheConfig;
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(EntityCacheConfig.class)
+class RecipeRepositoryTest {
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            User user = entityManager.persist(newUser("author" + i));
+            for (int j = 0; j < 15; j++) {
+                entityManager.persist(newRecipe(user, "Receita " + i + "-" + j, j % 5 == 0));
+            }
+            author = user;
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void publicListingUsesConstantStatementsRegardlessOfPageSize() {
+        long small = countStatements(() -> recipeRepository.findPublicRecipeViews(PageRequest.of(0, 2)).getContent());
+        long large = countStatements(() -> recipeRepository.findPublicRecipeViews(PageRequest.of(0, 30)).getContent());
+
+        // SELECT da página + COUNT, independente de quantos autores aparecem
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void userListingUsesConstantStatementsRegardlessOfPageSize() {
+        long small = countStatements(() -> recipeRepository.findUserRecipeViews(author.getId(), PageRequest.of(0, 2)).getContent());
+        long large = countStatements(() -> recipeRepository.findUserRecipeViews(author.getId(), PageRequest.of(0, 15)).getContent());
+
+        assertThat(small).isEqualTo(2);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void keysetAndFeedListingsUseSingleStatement() {
+        assertThat(countStatements(() -> recipeRepository.findPublicRecipesFirst(Limit.of(2)))).isEqualTo(1);
+        assertThat(countStatements(() -> recipeRepository.findPublicRecipesFirst(Limit.of(40)))).isEqualTo(1);
+        assertThat(countStatements(() -> recipeRepository.findRecentPublicRecipeViews(Limit.of(10)))).isEqualTo(1);
+    }
+
+    @Test
+    void sliceListingsSkipTheCountQuery() {
+        // Uma única consulta (size + 1 linhas), sem COUNT
+        assertThat(countStatements(() -> recipeRepository.slicePublicRecipeViews(PageRequest.of(0, 20)).getContent())).isEqualTo(1);
+        assertThat(countStatements(() -> recipeRepository.sliceUserRecipeViews(author.getId(), PageRequest.of(0, 5)).getContent())).isEqualTo(1);
+
+        // 36 receitas públicas (3 autores x 12): a segunda página de 20 é a última
+        Slice<RecipeResponse> first = recipeRepository.slicePublicRecipeViews(PageRequest.of(0, 20));
+        Slice<RecipeResponse> last = recipeRepository.slicePublicRecipeViews(PageRequest.of(1, 20));
+        assertThat(first.getContent()).hasSize(20);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(16);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void batchLookupsLoadRecipesAndAuthorsInSingleStatement() {
+        List<Recipe> recipes = recipeRepository.findAll().subList(0, 40);
+        List<String> uniqueIds = recipes.stream().map(Recipe::getUniqueId).toList();
+        List<Long> ids = recipes.stream().map(Recipe::getId).toList();
+
+        assertThat(countStatements(() -> recipeRepository.findRecipeViewsByUniqueIds(uniqueIds))).isEqualTo(1);
+        assertThat(countStatements(() -> recipeRepository.findRecipeViewsByIds(ids))).isEqualTo(1);
+        assertThat(recipeRepository.findRecipeViewsByUniqueIds(uniqueIds)).extracting(RecipeResponse::getId)
+            .containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    private long countStatements(Supplier<List<RecipeResponse>> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        List<RecipeResponse> recipes = listing.get();
+        recipes.forEach(recipe -> assertThat(recipe.getAuthorUsername()).isNotNull());
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static User newUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        return user;
+    }
+
+    private static Recipe newRecipe(User user, String title, boolean isPrivate) {
+        Recipe recipe = new Recipe();
+        recipe.setUniqueId(UUID.randomUUID().toString());
+        recipe.setTitle(title);
+        recipe.setDescription("Modo de preparo de " + title);
+        recipe.setIsPrivate(isPrivate);
+        recipe.setUser(user);
+        return recipe;
+    }
+}
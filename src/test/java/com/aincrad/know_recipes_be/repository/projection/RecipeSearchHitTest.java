@@ -0,0 +1,17 @@
+package com.aincrad.know_recipes_be.repository.projection;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeSearchHitTest {
+
+    @Test
+    void headlineEscapesUserTextAndKeepsOnlyTheMatchMarks() {
+        String raw = "Bolo <img src=x onerror=alert(1)>. Massa de @@hl@@chocolate@@/hl@@ \"fofa\"";
+
+        assertThat(RecipeSearchHit.headlineHtml(raw)).isEqualTo(
+            "Bolo &lt;img src=x onerror=alert(1)&gt;. Massa de <mark>chocolate</mark> &quot;fofa&quot;");
+        assertThat(RecipeSearchHit.headlineHtml(null)).isNull();
+    }
+}
@@ -0,0 +1,123 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.config.ThreadStatementCounter;
+import com.aincrad.know_recipes_be.dto.RecipeRequest;
+import com.aincrad.know_recipes_be.dto.RecipeResponse;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:entity-cache;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@ActiveProfiles("test")
+class EntityCacheEvictionTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User author;
+
+    @BeforeEach
+    void authenticate() {
+        User user = new User();
+        user.setUsername("cache-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        author = userRepository.save(user);
+        signIn();
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sharedLinkIsServedFromCacheAndWritesThroughRecipeServiceEvictIt() {
+        RecipeResponse created = recipeService.createRecipe(new RecipeRequest("Bolo", "Modo de preparo", null, false));
+        recipeService.getRecipeByUniqueId(created.getUniqueId());
+        assertNoStatements(() -> recipeService.getRecipeByUniqueId(created.getUniqueId()));
+
+        recipeService.updateRecipe(created.getId(), new RecipeRequest("Bolo de fubá", "Modo de preparo", null, false));
+        assertThat(recipeService.getRecipeByUniqueId(created.getUniqueId()).getTitle()).isEqualTo("Bolo de fubá");
+        assertThat(recipeService.getRecipeById(created.getId()).getTitle()).isEqualTo("Bolo de fubá");
+
+        // Passou a privada: fora do dono, o link deixa de abrir
+        recipeService.updateRecipe(created.getId(), new RecipeRequest("Bolo de fubá", "Modo de preparo", null, true));
+        SecurityContextHolder.clearContext();
+        assertThatThrownBy(() -> recipeService.getRecipeByUniqueId(created.getUniqueId()))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        signIn();
+        recipeService.deleteRecipe(created.getId());
+        assertThatThrownBy(() -> recipeService.getRecipeByUniqueId(created.getUniqueId()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void writesFromOtherPodsAreEvictedWhenTheirEventArrives() {
+        RecipeResponse created = recipeService.createRecipe(new RecipeRequest("Torta", "Modo de preparo", null, false));
+        recipeService.getRecipeByUniqueId(created.getUniqueId());
+
+        // Escrita de outro pod: o banco mudou, mas este pod ainda não sabe
+        jdbcTemplate.update("UPDATE tb_recipes SET title = ? WHERE id = ?", "Torta de limão", created.getId());
+        assertThat(recipeService.getRecipeByUniqueId(created.getUniqueId()).getTitle()).isEqualTo("Torta");
+
+        // ... até o evento chegar pelo barramento de invalidação
+        eventPublisher.publishEvent(new RecipeChangedEvent(
+            RecipeChangedEvent.Type.UPDATED, created.getId(), author.getId(), "Torta de limão", true, true));
+        assertThat(recipeService.getRecipeByUniqueId(created.getUniqueId()).getTitle()).isEqualTo("Torta de limão");
+    }
+
+    @Test
+    void loginLookupByEmailIsServedFromNaturalIdCache() {
+        transactionTemplate.executeWithoutResult(status -> userRepository.findByEmail(author.getEmail()).orElseThrow());
+
+        assertNoStatements(() -> transactionTemplate.executeWithoutResult(
+            status -> assertThat(userRepository.findByEmail(author.getEmail())).hasValueSatisfying(
+                user -> assertThat(user.getId()).isEqualTo(author.getId()))));
+    }
+
+    private void signIn() {
+        AuthenticatedUser principal = AuthenticatedUser.from(author);
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    // Só os statements desta thread: tarefas em segundo plano (rebuild do índice de títulos...) não entram
+    private void assertNoStatements(Runnable action) {
+        assertThat(ThreadStatementCounter.count(action)).isZero();
+    }
+}
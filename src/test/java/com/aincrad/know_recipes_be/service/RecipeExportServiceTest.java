@@ -0,0 +1,95 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.dto.RecipeRequest;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:recipe-export;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "recipes.export.chunk-size=2"
+})
+@ActiveProfiles("test")
+class RecipeExportServiceTest {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    @Autowired
+    private RecipeExportService recipeExportService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void authenticate() {
+        User user = new User();
+        user.setUsername("export-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        AuthenticatedUser principal = AuthenticatedUser.from(userRepository.save(user));
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void exportsEveryRecipeInChunksAndWritesOutsideTheTransaction() throws IOException {
+        // Descrições grandes estouram o buffer de 64 KB: a escrita chega ao stream a cada bloco
+        String description = "Modo de preparo ".repeat(2_500);
+        for (int i = 1; i <= 5; i++) {
+            recipeService.createRecipe(new RecipeRequest("Receita " + i, description, null, false));
+        }
+
+        TransactionCheckingOutput output = new TransactionCheckingOutput();
+        recipeExportService.exportMyRecipes(output);
+
+        List<String> titles = output.toString(StandardCharsets.UTF_8).lines()
+            .map(line -> JSON.readTree(line).get("title").asString())
+            .toList();
+        assertThat(titles).containsExactly("Receita 5", "Receita 4", "Receita 3", "Receita 2", "Receita 1");
+        assertThat(output.writes).isPositive();
+        assertThat(output.writesInsideTransaction).isZero();
+    }
+
+    private static final class TransactionCheckingOutput extends ByteArrayOutputStream {
+
+        private int writes;
+        private int writesInsideTransaction;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            writes++;
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                writesInsideTransaction++;
+            }
+            super.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.config.AuthenticatedUser;
+import com.aincrad.know_recipes_be.dto.RecipeImportResponse;
+import com.aincrad.know_recipes_be.dto.RecipeRequest;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import com.aincrad.know_recipes_be.service.event.RecipesImportedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:recipe-import;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "recipes.import.batch-size=2",
+    "recipes.import.max-items=5"
+})
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class RecipeImportServiceTest {
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User author;
+
+    @BeforeEach
+    void authenticate() {
+        User user = new User();
+        user.setUsername("import-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        author = userRepository.save(user);
+
+        AuthenticatedUser principal = AuthenticatedUser.from(author);
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void publishesOneSummaryEventPerCommittedBatch() {
+        RecipeImportResponse response = recipeImportService.importRecipes(List.of(
+            recipe("Bolo", false), recipe("Pão", true), recipe("Sopa", true)));
+
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getAbortReason()).isNull();
+        assertThat(events.stream(RecipeChangedEvent.class)).isEmpty();
+        assertThat(events.stream(RecipesImportedEvent.class))
+            .extracting(RecipesImportedEvent::count, RecipesImportedEvent::publicCatalog)
+            .containsExactly(tuple(2, true), tuple(1, false));
+    }
+
+    @Test
+    void databaseFailureInALaterBatchReturnsThePartialResult() {
+        // image_url tem 500 caracteres no banco e não é validada no DTO: o segundo lote falha no INSERT
+        RecipeRequest tooLong = new RecipeRequest("Torta", "Modo de preparo", "https://img/" + "x".repeat(600), false);
+        RecipeImportResponse response = recipeImportService.importRecipes(List.of(
+            recipe("Bolo", false), recipe("Pão", false), recipe("Sopa", false), tooLong, recipe("Suco", false)));
+
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getReceived()).isEqualTo(4);
+        assertThat(response.getAbortReason()).isNotBlank();
+        assertThat(response.getErrors()).extracting(RecipeImportResponse.ItemError::index).containsExactly(2, 3);
+        assertThat(events.stream(RecipesImportedEvent.class)).hasSize(1);
+        assertThat(recipeRepository.findAll())
+            .filteredOn(recipe -> recipe.getUser().getId().equals(author.getId()))
+            .hasSize(2);
+    }
+
+    @Test
+    void oversizedJsonArrayIsRejectedBeforeReadingTheRestOfTheBody() {
+        String sixItems = "[" + String.join(",", Collections.nCopies(6,
+            "{\"title\":\"Bolo\",\"description\":\"Modo de preparo\"}")) + ",";
+        // Depois do sexto item o corpo não pode ser lido: materializar o array inteiro falharia aqui
+        InputStream unreadable = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("corpo lido além do limite");
+            }
+        };
+        InputStream body = new SequenceInputStream(
+            new ByteArrayInputStream(sixItems.getBytes(StandardCharsets.UTF_8)), unreadable);
+
+        assertThatThrownBy(() -> recipeImportService.importRecipeArray(body))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Máximo de 5");
+        assertThat(events.stream(RecipesImportedEvent.class)).isEmpty();
+    }
+
+    @Test
+    void jsonArrayWithinTheLimitIsImported() {
+        String body = "[{\"title\":\"Bolo\",\"description\":\"Modo de preparo\"}, null, {\"title\":\"\"}]";
+
+        RecipeImportResponse response = recipeImportService.importRecipeArray(
+            new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getReceived()).isEqualTo(3);
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(RecipeImportResponse.ItemError::index).containsExactly(1, 2);
+    }
+
+    private static RecipeRequest recipe(String title, boolean isPrivate) {
+        return new RecipeRequest(title, "Modo de preparo", null, isPrivate);
+    }
+}
@@ -0,0 +1,107 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.dto.SearchSort;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Os carregadores dos caches (busca pública e feed) não têm @Transactional: precisam abrir
+ * a própria transação read-only, senão o roteamento manda a falta de cache para o primário.
+ * O repositório é envolvido por um proxy que anota, por método, se a chamada veio numa
+ * transação read-only; as buscas nativas (PostgreSQL) respondem vazio em vez de ir ao H2.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:recipe-read-transaction;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@ActiveProfiles("test")
+class RecipeReadTransactionTest {
+
+    // Nome do método do repositório -> a chamada estava numa transação read-only?
+    private static final Map<String, Boolean> READ_ONLY_CALLS = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeFeedCache recipeFeedCache;
+
+    @BeforeEach
+    void clearCalls() {
+        READ_ONLY_CALLS.clear();
+    }
+
+    @Test
+    void publicSearchCacheMissLoadsInAReadOnlyTransaction() {
+        String keyword = "bolo" + UUID.randomUUID().toString().substring(0, 8);
+
+        recipeService.searchPublicRecipes(keyword, 0, 10, SearchSort.RECENT);
+        recipeService.searchPublicRecipesSlice(keyword, 0, 10, SearchSort.RELEVANCE, false);
+
+        assertThat(READ_ONLY_CALLS)
+            .containsEntry("searchPublicRecipes", true)
+            .containsEntry("sliceSearchPublicRecipesByRelevance", true);
+    }
+
+    @Test
+    void feedCacheMissLoadsInAReadOnlyTransaction() {
+        recipeFeedCache.invalidate();
+        recipeService.getRecentRecipes();
+
+        assertThat(READ_ONLY_CALLS).containsEntry("findRecentPublicRecipeViews", true);
+    }
+
+    @TestConfiguration
+    static class RecordingRepositoryConfig {
+
+        @Bean
+        static BeanPostProcessor recordingRecipeRepository() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof RecipeRepository repository)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(RecipeRepository.class.getClassLoader(),
+                        new Class<?>[]{RecipeRepository.class}, (proxy, method, args) -> {
+                            String name = method.getName();
+                            READ_ONLY_CALLS.put(name, TransactionSynchronizationManager.isActualTransactionActive()
+                                && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                            if (name.startsWith("searchPublicRecipes")) {
+                                return Page.empty((Pageable) args[1]);
+                            }
+                            if (name.startsWith("sliceSearchPublicRecipes")) {
+                                return new SliceImpl<>(List.of(), (Pageable) args[1], false);
+                            }
+                            try {
+                                return method.invoke(repository, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.aincrad.know_recipes_be.service;
+
+import com.aincrad.know_recipes_be.dto.SearchSort;
+import com.aincrad.know_recipes_be.service.event.RecipeChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecipeSearchCacheTest {
+
+    private static final RecipeSearchCache.Key BOLO = new RecipeSearchCache.Key("bolo:*", SearchSort.RECENT, 0, 20, false, false);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesRepeatedQueriesUntilThePublicCatalogChanges() {
+        RecipeSearchCache cache = newCache(false);
+
+        cache.get(BOLO, loader());
+        cache.get(BOLO, loader());
+        cache.get(new RecipeSearchCache.Key("bolo:*", SearchSort.RECENT, 1, 20, false, false), loader());
+        assertThat(loads).hasValue(2);
+
+        // Escrita só em receita privada não muda o que a busca pública retorna
+        cache.onRecipeChanged(event(false, false));
+        cache.get(BOLO, loader());
+        assertThat(loads).hasValue(2);
+
+        // Receita que passou a privada: resultados anteriores deixam de valer
+        cache.onRecipeChanged(event(true, false));
+        assertThat(cache.get(BOLO, loader())).containsExactly(3);
+        assertThat(meterRegistry.get("recipes.search.cache.hit.ratio").gauge().value()).isEqualTo(2 / 5.0);
+    }
+
+    @Test
+    void doesNotStoreResultsReadWhileReplicasMayLagBehindAWrite() {
+        RecipeSearchCache cache = newCache(true);
+        cache.get(BOLO, loader());
+        cache.get(BOLO, loader());
+        assertThat(loads).hasValue(1);
+
+        cache.onRecipeChanged(event(true, true));
+        cache.get(BOLO, loader());
+        cache.get(BOLO, loader());
+        assertThat(loads).hasValue(3);
+        assertThat(meterRegistry.get("recipes.search.cache.skipped").counter().count()).isEqualTo(2);
+    }
+
+    private RecipeSearchCache newCache(boolean routingEnabled) {
+        return new RecipeSearchCache(meterRegistry, Duration.ofMinutes(1), 100, routingEnabled, Duration.ofMinutes(1));
+    }
+
+    private Supplier<List<Integer>> loader() {
+        return () -> List.of(loads.incrementAndGet());
+    }
+
+    private static RecipeChangedEvent event(boolean publicBefore, boolean publicAfter) {
+        return new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, 1L, 1L, "Bolo", publicBefore, publicAfter);
+    }
+}
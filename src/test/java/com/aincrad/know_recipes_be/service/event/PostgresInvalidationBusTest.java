@@ -0,0 +1,78 @@
+package com.aincrad.know_recipes_be.service.event;
+
+import com.aincrad.know_recipes_be.config.InvalidationBusProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostgresInvalidationBusTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final List<Object> published = new ArrayList<>();
+    private final PostgresInvalidationBus bus = new PostgresInvalidationBus(
+        new InvalidationBusProperties(), null, jsonMapper, published::add, new SimpleMeterRegistry(),
+        "jdbc:postgresql://localhost/recipes", "", "", "pod-a");
+
+    @Test
+    void republishesWritesFromOtherPodsInOrder() {
+        bus.handle(List.of(
+            message("pod-b", 1, false, event(1L, "Bolo")),
+            message("pod-b", 2, false, event(2L, "Torta"), event(3L, "Pudim"))));
+
+        assertThat(published).extracting(e -> ((RecipeChangedEvent) e).recipeId()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void sequenceGapFlushesOnceInsteadOfApplyingPartialWrites() {
+        bus.handle(List.of(message("pod-b", 1, false, event(1L, "Bolo"))));
+        published.clear();
+
+        bus.handle(List.of(
+            message("pod-b", 3, false, event(3L, "Torta")),
+            message("pod-c", 7, true)));
+
+        assertThat(published).containsExactly(new CacheFlushEvent("gap"));
+    }
+
+    @Test
+    void ignoresItsOwnMessages() {
+        List<String> own = bus.encode(false, List.of(event(1L, "Bolo")));
+
+        bus.handle(own);
+
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void splitsLargeBatchesUnderThePayloadLimitWithConsecutiveSequences() {
+        String longTitle = String.join("", Collections.nCopies(190, "ã"));
+        List<RecipeChangedEvent> events = IntStream.range(0, 100).mapToObj(i -> event((long) i, longTitle)).toList();
+
+        List<String> payloads = bus.encode(false, events);
+
+        assertThat(payloads).hasSizeGreaterThan(1)
+            .allSatisfy(payload -> assertThat(payload.getBytes(StandardCharsets.UTF_8)).hasSizeLessThan(8000));
+        List<InvalidationMessage> messages = payloads.stream()
+            .map(payload -> jsonMapper.readValue(payload, InvalidationMessage.class))
+            .toList();
+        assertThat(messages).extracting(InvalidationMessage::sequence)
+            .containsExactlyElementsOf(IntStream.rangeClosed(1, payloads.size()).mapToObj(Long::valueOf).toList());
+        assertThat(messages).flatExtracting(InvalidationMessage::events).containsExactlyElementsOf(events);
+    }
+
+    private String message(String origin, long sequence, boolean flush, RecipeChangedEvent... events) {
+        return jsonMapper.writeValueAsString(new InvalidationMessage(origin, sequence, flush, List.of(events)));
+    }
+
+    private static RecipeChangedEvent event(Long recipeId, String title) {
+        return new RecipeChangedEvent(RecipeChangedEvent.Type.UPDATED, recipeId, 9L, title, true, true);
+    }
+}
@@ -0,0 +1,95 @@
+package com.aincrad.know_recipes_be.service.image;
+
+import com.aincrad.know_recipes_be.config.ImageProperties;
+import com.aincrad.know_recipes_be.exception.InvalidImageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecipeImageStorageTest {
+
+    @TempDir
+    Path storageDir;
+
+    private RecipeImageStorage storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ImageProperties properties = new ImageProperties();
+        properties.setStorageDir(storageDir.toString());
+        properties.setMaxPixels(1_000_000);
+        storage = new RecipeImageStorage(properties, false);
+    }
+
+    @Test
+    void detectsFormatFromContentAndRendersThumbnails() throws IOException {
+        // Content-Type e nome mentem: vale o conteúdo
+        StoredImage stored = storage.store(upload("foto.jpg", "image/jpeg", png(800, 400)));
+
+        assertThat(stored.format()).isEqualTo(ImageFormat.PNG);
+        Path original = storage.findOriginal(stored.imageId()).orElseThrow();
+        assertThat(original.getFileName().toString()).isEqualTo("original.png");
+        assertThat(storage.resolve(stored.imageId(), "original.png")).contains(original);
+
+        BufferedImage thumbnail = ThumbnailRenderer.fit(ThumbnailRenderer.read(original, 320), 320);
+        assertThat(thumbnail.getWidth()).isEqualTo(320);
+        assertThat(thumbnail.getHeight()).isEqualTo(160);
+    }
+
+    @Test
+    void rejectsNonImagesAndOversizedImagesWithoutLeavingFiles() throws IOException {
+        assertThatThrownBy(() -> storage.store(upload("a.png", "image/png", "not an image".getBytes())))
+            .isInstanceOf(InvalidImageException.class);
+        assertThatThrownBy(() -> storage.store(upload("a.png", "image/png", png(2000, 1000))))
+            .isInstanceOf(InvalidImageException.class);
+
+        try (var files = Files.walk(storageDir)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    void resolvesOnlyKnownFileNamesAndHexIds() {
+        String imageId = "0123456789abcdef0123456789abcdef";
+
+        assertThat(storage.resolve(imageId, "small.jpg")).isPresent();
+        assertThat(storage.resolve(imageId, "original.exe")).isEmpty();
+        assertThat(storage.resolve(imageId, "..")).isEmpty();
+        assertThat(storage.resolve("../../etc/passwd", "small.jpg")).isEmpty();
+        assertThat(storage.resolve("0123456789ABCDEF0123456789ABCDEF", "small.jpg")).isEmpty();
+    }
+
+    @Test
+    void multiplePodsRequireADeclaredSharedVolume() throws IOException {
+        ImageProperties properties = new ImageProperties();
+        properties.setStorageDir(storageDir.resolve("pods").toString());
+
+        assertThatThrownBy(() -> new RecipeImageStorage(properties, true))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("recipes.images.shared-storage");
+
+        properties.setSharedStorage(true);
+        assertThat(new RecipeImageStorage(properties, true).findOriginal("0123456789abcdef0123456789abcdef")).isEmpty();
+    }
+
+    private static MockMultipartFile upload(String name, String contentType, byte[] content) {
+        return new MockMultipartFile("file", name, contentType, content);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+package com.aincrad.know_recipes_be.service.image;
+
+import com.aincrad.know_recipes_be.repository.entity.Recipe;
+import com.aincrad.know_recipes_be.repository.entity.RecipeImageStatus;
+import com.aincrad.know_recipes_be.repository.entity.User;
+import com.aincrad.know_recipes_be.repository.jpa.RecipeRepository;
+import com.aincrad.know_recipes_be.repository.jpa.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:thumbnail-pipeline;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password="
+})
+@ActiveProfiles("test")
+class ThumbnailPipelineTest {
+
+    @TempDir
+    static Path storageDir;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("recipes.images.storage-dir", storageDir::toString);
+    }
+
+    @Autowired
+    private ThumbnailPipeline pipeline;
+
+    @Autowired
+    private RecipeImageStorage imageStorage;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void resumesOnlyImagesWhoseOriginalIsOnThisPod() throws IOException {
+        User user = new User();
+        user.setUsername("fotos-" + UUID.randomUUID().toString().substring(0, 8));
+        user.setEmail(user.getUsername() + "@knowrecipes.com");
+        user.setPassword("{noop}password");
+        User author = userRepository.save(user);
+
+        // Enviada a outro pod: o original não está neste disco
+        Long foreign = pendingRecipe(author, UUID.randomUUID().toString().replace("-", "")).getId();
+        StoredImage stored = imageStorage.store(new MockMultipartFile("file", "bolo.png", "image/png", png()));
+        Long local = pendingRecipe(author, stored.imageId()).getId();
+
+        pipeline.resumePending();
+
+        await().atMost(10, TimeUnit.SECONDS)
+            .until(() -> recipeRepository.findById(local).orElseThrow().getImageStatus() == RecipeImageStatus.READY);
+        assertThat(recipeRepository.findById(foreign).orElseThrow().getImageStatus()).isEqualTo(RecipeImageStatus.PENDING);
+    }
+
+    private Recipe pendingRecipe(User author, String imageId) {
+        Recipe recipe = new Recipe();
+        recipe.setUniqueId(UUID.randomUUID().toString());
+        recipe.setTitle("Bolo");
+        recipe.setImageId(imageId);
+        recipe.setImageStatus(RecipeImageStatus.PENDING);
+        recipe.setIsPrivate(false);
+        recipe.setUser(author);
+        return recipeRepository.save(recipe);
+    }
+
+    private static byte[] png() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB), "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,129 @@
+package com.aincrad.know_recipes_be.service.query;
+
+import com.aincrad.know_recipes_be.config.QueryInsightsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryInsightsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private QueryInsights insights;
+
+    @AfterEach
+    void shutdown() {
+        if (insights != null) {
+            insights.shutdown();
+        }
+    }
+
+    @Test
+    void normalizesLiteralsCommentsAndInClausePadding() {
+        String padded = SqlNormalizer.normalize(
+            "/* lote */ select r1_0.id from tb_recipes r1_0 where r1_0.id in (?,?,?,?) and r1_0.title = 'D''água'", 2000);
+        String single = SqlNormalizer.normalize(
+            "select r1_0.id\n  from tb_recipes r1_0 where r1_0.id in (?) and r1_0.title = 'Bolo'", 2000);
+
+        assertThat(padded)
+            .isEqualTo(single)
+            .isEqualTo("select r1_0.id from tb_recipes r1_0 where r1_0.id in (?) and r1_0.title = ?");
+        assertThat(SqlNormalizer.normalize("select * from tb_recipes limit 20 offset 40", 2000))
+            .isEqualTo("select * from tb_recipes limit ? offset ?");
+
+        assertThat(SqlNormalizer.isReadOnlyQuery(single)).isTrue();
+        assertThat(SqlNormalizer.isReadOnlyQuery("select r.id from tb_recipes r where r.id = ? for update")).isFalse();
+        assertThat(SqlNormalizer.isReadOnlyQuery("select nextval(?)")).isFalse();
+        assertThat(SqlNormalizer.isReadOnlyQuery("update tb_recipes set title = ? where id = ?")).isFalse();
+    }
+
+    @Test
+    void aggregatesExecutionsPerNormalizedStatementAndRanksTheSlowest() {
+        QueryInsightsProperties properties = new QueryInsightsProperties();
+        properties.setTopN(2);
+        properties.getExplain().setEnabled(false);
+        insights = new QueryInsights(properties, meterRegistry);
+
+        insights.record("select id from tb_recipes where id in (?)", millis(3), 1, false, List.of(), null);
+        insights.record("select id from tb_recipes where id in (?, ?)", millis(40), 2, false, List.of(), null);
+        insights.record("select id from tb_recipes where id in (?, ?)", millis(7), 0, true, List.of(), null);
+        insights.record("update tb_recipes set title = 'x' where id = 1", millis(15), 1, false, List.of(), null);
+
+        QueryInsights.Report report = insights.report(10);
+        assertThat(report.tracked()).isEqualTo(2);
+        StatementStats.Snapshot lookup = report.statements().get(0);
+        assertThat(lookup.sql()).isEqualTo("select id from tb_recipes where id in (?)");
+        assertThat(lookup.calls()).isEqualTo(3);
+        assertThat(lookup.errors()).isEqualTo(1);
+        assertThat(lookup.rows()).isEqualTo(3);
+        assertThat(lookup.maxMs()).isEqualTo(40.0);
+        assertThat(lookup.p50Ms()).isEqualTo(10);
+        assertThat(lookup.p99Ms()).isEqualTo(50);
+        assertThat(insights.detail(lookup.id()).stats().calls()).isEqualTo(3);
+
+        // Falhas não entram no ranking; só as 2 mais lentas ficam
+        assertThat(report.slowest()).extracting(SlowestExecutions.SlowExecution::durationMs).containsExactly(40.0, 15.0);
+        assertThat(report.slowest().get(1).sql()).isEqualTo("update tb_recipes set title = ? where id = ?");
+        assertThat(meterRegistry.get("recipes.db.statement.duration").tag("command", "select").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void slowExecutionsLeaveTheRankingWhenTheWindowPasses() {
+        MutableClock clock = new MutableClock();
+        SlowestExecutions slowest = new SlowestExecutions(2, Duration.ofMinutes(15), clock);
+        slowest.offer(execution("a", 900, clock));
+        slowest.offer(execution("b", 800, clock));
+        slowest.offer(execution("c", 10, clock));
+        assertThat(slowest.snapshot()).extracting(SlowestExecutions.SlowExecution::statementId).containsExactly("a", "b");
+
+        clock.advance(Duration.ofMinutes(16));
+        slowest.offer(execution("d", 10, clock));
+        assertThat(slowest.snapshot()).extracting(SlowestExecutions.SlowExecution::statementId).containsExactly("d");
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+
+    private static SlowestExecutions.SlowExecution execution(String id, double durationMs, Clock clock) {
+        return new SlowestExecutions.SlowExecution(id, "select ?", durationMs, 1, clock.instant());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public long millis() {
+            return now.toEpochMilli();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.aincrad.know_recipes_be.service.stream;
+
+import com.aincrad.know_recipes_be.config.RecipeStreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class RecipeEventStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RecipeStreamProperties properties = new RecipeStreamProperties();
+    private RecipeEventStream stream;
+
+    @AfterEach
+    void shutdown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void resumesAfterLastEventIdOrAsksForResetWhenItCannot() {
+        stream = newStream();
+        RecordingEmitter first = new RecordingEmitter(null);
+        stream.subscribe(null, first);
+        stream.publish(List.of(created(1), created(2), created(3)));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> first.frames.size() == 4);
+        String firstId = idOf(first.frames.get(1));
+
+        RecordingEmitter resumed = new RecordingEmitter(null);
+        stream.subscribe(firstId, resumed);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> resumed.frames.size() == 3);
+        assertThat(resumed.frames.subList(1, 3)).containsExactlyElementsOf(first.frames.subList(2, 4));
+
+        // Id de outra execução do pod: não dá para saber o que foi perdido
+        RecordingEmitter stale = new RecordingEmitter(null);
+        stream.subscribe("outro-2", stale);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stale.frames.size() == 2);
+        assertThat(stale.frames.get(1)).contains("event:reset").contains("id:" + idOf(first.frames.get(3)));
+    }
+
+    @Test
+    void disconnectsASlowConsumerWithoutHoldingBackTheOthers() throws Exception {
+        properties.setClientBuffer(4);
+        stream = newStream();
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(stuck);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        stream.subscribe(null, slow);
+        stream.subscribe(null, fast);
+
+        for (int i = 1; i <= 20; i++) {
+            int expected = i + 1;
+            stream.publish(List.of(created(i)));
+            await().atMost(5, TimeUnit.SECONDS).until(() -> fast.frames.size() == expected);
+        }
+
+        assertThat(meterRegistry.get("recipes.stream.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipes.stream.clients").gauge().value()).isEqualTo(1);
+        stuck.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.completed);
+    }
+
+    @Test
+    void aStalledSendIsDroppedAndDoesNotHoldTheSenderPool() throws Exception {
+        properties.setSenderThreads(1);
+        properties.setSendTimeout(Duration.ofMillis(50));
+        stream = newStream();
+        CountDownLatch stuck = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(stuck);
+        stream.subscribe(null, stalled);
+        stream.publish(List.of(created(1)));
+        // A única thread de envio fica presa na segunda escrita
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stalled.sending);
+
+        RecordingEmitter other = new RecordingEmitter(null);
+        stream.subscribe(null, other);
+        Thread.sleep(100);
+        assertThat(other.frames).isEmpty();
+
+        stream.dropStalledSubscribers();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> other.frames.size() == 1);
+        stream.publish(List.of(created(2)));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> other.frames.size() == 2);
+        assertThat(meterRegistry.get("recipes.stream.stalled").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipes.stream.clients").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("recipes.stream.senders.borrowed").gauge().value()).isEqualTo(1);
+
+        // A escrita presa termina: o cliente é encerrado e a thread emprestada devolvida
+        stuck.countDown();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stalled.completed);
+        assertThat(meterRegistry.get("recipes.stream.senders.borrowed").gauge().value()).isZero();
+    }
+
+    private RecipeEventStream newStream() {
+        return new RecipeEventStream(null, null, JsonMapper.builder().build(), meterRegistry, properties);
+    }
+
+    private static RecipeEventStream.OutgoingEvent created(int id) {
+        return new RecipeEventStream.OutgoingEvent(RecipeEventStream.CREATED, "{\"id\":" + id + "}");
+    }
+
+    private static String idOf(String frame) {
+        return frame.lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch block;
+        private volatile boolean completed;
+        private volatile boolean sending;
+
+        RecordingEmitter(CountDownLatch block) {
+            this.block = block;
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> frame) {
+            if (block != null && !frames.isEmpty()) {
+                sending = true;
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            frames.add(frame.stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.aincrad.know_recipes_be.service.typeahead;
+
+import com.aincrad.know_recipes_be.dto.TitleSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitlePrefixIndexTest {
+
+    @Test
+    void matchesPrefixIgnoringAccentsCaseAndPunctuation() {
+        TitlePrefixIndex index = new TitlePrefixIndex();
+        index.rebuild(() -> new TitlePrefixIndex.Builder()
+            .add(1, "Pão de Queijo")
+            .add(2, "Pão-de-ló")
+            .add(3, "Bolo de cenoura")
+            .add(4, "BOLO DE CENOURA!")
+            .add(5, "Bolovo")
+            .add(6, "Bolo de chocolate")
+            .build());
+
+        assertThat(titles(index.suggest("PAO DE", 10))).containsExactly("Pão-de-ló", "Pão de Queijo");
+        // Títulos com a mesma chave aparecem uma vez, pela receita de menor id
+        assertThat(index.suggest("bolo", 10)).containsExactly(
+            new TitleSuggestion(3L, "Bolo de cenoura"),
+            new TitleSuggestion(6L, "Bolo de chocolate"),
+            new TitleSuggestion(5L, "Bolovo"));
+        // Espaço final encerra a palavra
+        assertThat(titles(index.suggest("bolo ", 10))).containsExactly("Bolo de cenoura", "Bolo de chocolate");
+        assertThat(index.suggest("bolo", 1)).hasSize(1);
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void writesAfterTheBaseAreMergedInOrder() {
+        TitlePrefixIndex index = new TitlePrefixIndex();
+        index.rebuild(() -> new TitlePrefixIndex.Builder()
+            .add(1, "Bolo de cenoura")
+            .add(2, "Bolo de fubá")
+            .add(3, "Bolo de milho")
+            .build());
+
+        index.put(4, "Bolo de banana");
+        index.put(2, "Torta de fubá");
+        index.remove(3);
+
+        assertThat(titles(index.suggest("bolo", 10))).containsExactly("Bolo de banana", "Bolo de cenoura");
+        assertThat(titles(index.suggest("torta", 10))).containsExactly("Torta de fubá");
+        assertThat(index.pendingChanges()).isEqualTo(3);
+    }
+
+    @Test
+    void writesDuringRebuildSurviveTheSwap() {
+        TitlePrefixIndex index = new TitlePrefixIndex();
+        index.put(1, "Bolo de cenoura");
+
+        index.rebuild(() -> {
+            // Escrita concorrente com a carga, que leu o banco antes dela
+            index.put(2, "Bolo de milho");
+            return new TitlePrefixIndex.Builder().add(1, "Bolo de cenoura").build();
+        });
+
+        assertThat(titles(index.suggest("bolo", 10))).containsExactly("Bolo de cenoura", "Bolo de milho");
+        assertThat(index.pendingChanges()).isEqualTo(1);
+    }
+
+    private static List<String> titles(List<TitleSuggestion> suggestions) {
+        return suggestions.stream().map(TitleSuggestion::title).toList();
+    }
+}